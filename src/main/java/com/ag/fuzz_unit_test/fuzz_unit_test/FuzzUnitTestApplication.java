@@ -2,8 +2,10 @@ package com.ag.fuzz_unit_test.fuzz_unit_test;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FuzzUnitTestApplication {
 
 	public static void main(String[] args) {
@@ -9,6 +9,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/bookings")
 public class BookingController {
@@ -22,6 +24,14 @@ public class BookingController {
         this.bookingMapper = bookingMapper;
     }
 
+    @GetMapping("/course/{courseId}")
+    public ResponseEntity<List<BookingDto>> getCourseRoster(
+            @PathVariable Long courseId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Booking> roster = participantService.getCourseRoster(courseId, includeArchived);
+        return ResponseEntity.ok(bookingMapper.toDtoList(roster));
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<BookingDto> changeBookingStatus(@PathVariable Long id, @RequestParam BookingStatus status) {
         Booking booking = participantService.changeBookingStatus(id, status);
@@ -1,14 +1,27 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.controller;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.CursorPageDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderBatchResultDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderStatusUpdateDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderStatusUpdateResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderSummaryDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.PeriodRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.StatusRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserRevenueDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderBatchService;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderRevenueService;
 import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,27 +29,86 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderRevenueService orderRevenueService;
+    private final OrderBatchService orderBatchService;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderRevenueService orderRevenueService,
+                           OrderBatchService orderBatchService) {
         this.orderService = orderService;
+        this.orderRevenueService = orderRevenueService;
+        this.orderBatchService = orderBatchService;
     }
 
+    // Without parameters this returns the first page of all orders, newest first
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
+    public ResponseEntity<CursorPageDto<OrderSummaryDto>> searchOrders(
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<OrderSummaryDto> orders = orderService.searchOrders(status, userId, createdFrom, createdTo,
+                cursor, size);
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/revenue/by-status")
+    public ResponseEntity<List<StatusRevenueDto>> getRevenueByStatus(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderRevenueService.getRevenueByStatus(from, to));
+    }
+
+    @GetMapping("/revenue/top-users")
+    public ResponseEntity<List<UserRevenueDto>> getTopUsersByRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(orderRevenueService.getTopUsersByRevenue(from, to, status, limit));
+    }
+
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<List<PeriodRevenueDto>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Order.OrderStatus status) {
+        return ResponseEntity.ok(orderRevenueService.getDailyRevenue(from, to, status));
+    }
+
+    @GetMapping("/revenue/monthly")
+    public ResponseEntity<List<PeriodRevenueDto>> getMonthlyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Order.OrderStatus status) {
+        return ResponseEntity.ok(orderRevenueService.getMonthlyRevenue(from, to, status));
+    }
+
+    @PostMapping("/revenue/rollup/rebuild")
+    public ResponseEntity<Integer> rebuildRevenueRollup() {
+        return ResponseEntity.ok(orderRevenueService.rebuildRollup());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
         Order order = orderService.getOrderById(id);
         return ResponseEntity.ok(order);
     }
 
+    @GetMapping("/number/{orderNumber}")
+    public ResponseEntity<OrderSummaryDto> getOrderByNumber(@PathVariable String orderNumber) {
+        OrderSummaryDto order = orderService.getOrderSummaryByNumber(orderNumber);
+        return ResponseEntity.ok(order);
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUser(@PathVariable Long userId) {
-        List<Order> orders = orderService.getOrdersByUser(userId);
+    public ResponseEntity<CursorPageDto<OrderSummaryDto>> getOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<OrderSummaryDto> orders = orderService.getOrdersByUser(userId, cursor, size);
         return ResponseEntity.ok(orders);
     }
 
@@ -46,6 +118,11 @@ public class OrderController {
         return new ResponseEntity<>(order, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<OrderBatchResultDto> createOrders(@RequestBody List<OrderDto> orderDtos) {
+        return ResponseEntity.ok(orderBatchService.createOrders(orderDtos));
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<Order> updateOrderStatus(
             @PathVariable Long id,
@@ -54,6 +131,13 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @PutMapping("/status")
+    public ResponseEntity<OrderStatusUpdateResultDto> updateOrderStatuses(
+            @Valid @RequestBody OrderStatusUpdateDto statusUpdateDto) {
+        return ResponseEntity.ok(orderService.updateOrderStatuses(
+                statusUpdateDto.getOrderIds(), statusUpdateDto.getStatus()));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
         orderService.deleteOrder(id);
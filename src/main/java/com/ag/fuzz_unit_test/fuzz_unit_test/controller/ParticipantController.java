@@ -1,33 +1,45 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.controller;
 
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.BookingDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.CursorPageDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantDeactivationDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantDeactivationResultDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantImportResultDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Booking;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Participant;
 import com.ag.fuzz_unit_test.fuzz_unit_test.mapper.BookingMapper;
 import com.ag.fuzz_unit_test.fuzz_unit_test.mapper.ParticipantMapper;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.ParticipantImportService;
 import com.ag.fuzz_unit_test.fuzz_unit_test.service.ParticipantService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/participants")
 public class ParticipantController {
 
     private final ParticipantService participantService;
+    private final ParticipantImportService participantImportService;
     private final ParticipantMapper participantMapper;
     private final BookingMapper bookingMapper;
 
     @Autowired
     public ParticipantController(ParticipantService participantService, 
+                                ParticipantImportService participantImportService,
                                 ParticipantMapper participantMapper,
                                 BookingMapper bookingMapper) {
         this.participantService = participantService;
+        this.participantImportService = participantImportService;
         this.participantMapper = participantMapper;
         this.bookingMapper = bookingMapper;
     }
@@ -35,13 +47,27 @@ public class ParticipantController {
     @GetMapping
     public ResponseEntity<List<ParticipantDto>> getAllParticipants() {
         List<Participant> participants = participantService.getAllParticipants();
-        return ResponseEntity.ok(participantMapper.toDtoList(participants));
+        Map<Long, Map<BookingStatus, Long>> bookingCounts = participantService.getBookingCounts(
+                participants.stream().map(Participant::getId).toList());
+        return ResponseEntity.ok(participantMapper.toDtoList(participants, bookingCounts));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ParticipantDto> getParticipantById(@PathVariable Long id) {
         Participant participant = participantService.getParticipantById(id);
-        return ResponseEntity.ok(participantMapper.toDto(participant));
+        Map<BookingStatus, Long> bookingCounts = participantService.getBookingCounts(List.of(id)).get(id);
+        return ResponseEntity.ok(participantMapper.toDto(participant, bookingCounts));
+    }
+
+    @GetMapping("/{id}/bookings")
+    public ResponseEntity<CursorPageDto<BookingDto>> getBookingHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        CursorPageDto<Booking> bookings = participantService.getBookingHistory(id, status, cursor, size, includeArchived);
+        return ResponseEntity.ok(bookings.map(bookingMapper::toHistoryDto));
     }
 
     @PostMapping
@@ -51,6 +77,18 @@ public class ParticipantController {
         return new ResponseEntity<>(participantMapper.toDto(createdParticipant), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ParticipantImportResultDto> importParticipants(InputStream body) {
+        return ResponseEntity.ok(participantImportService.importParticipants(body));
+    }
+
+    @PostMapping("/deactivate")
+    public ResponseEntity<ParticipantDeactivationResultDto> deactivateParticipants(
+            @Valid @RequestBody ParticipantDeactivationDto deactivationDto) {
+        return ResponseEntity.ok(participantService.deactivateParticipants(
+                deactivationDto.getParticipantIds(), deactivationDto.getStatus()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ParticipantDto> updateParticipant(@PathVariable Long id, 
                                                           @Valid @RequestBody ParticipantDto participantDto) {
@@ -1,6 +1,7 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.controller;
 
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.User;
 import com.ag.fuzz_unit_test.fuzz_unit_test.service.UserService;
 import jakarta.validation.Valid;
@@ -35,8 +36,14 @@ public class UserController {
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
-        User user = userService.getUserByEmail(email);
+    public ResponseEntity<UserSummaryDto> getUserByEmail(@PathVariable String email) {
+        UserSummaryDto user = userService.getUserByEmail(email);
+        return ResponseEntity.ok(user);
+    }
+
+    @GetMapping("/username/{username}")
+    public ResponseEntity<UserSummaryDto> getUserByUsername(@PathVariable String username) {
+        UserSummaryDto user = userService.getUserByUsername(username);
         return ResponseEntity.ok(user);
     }
 
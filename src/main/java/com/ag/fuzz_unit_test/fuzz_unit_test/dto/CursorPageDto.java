@@ -0,0 +1,49 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    // Constructors
+    public CursorPageDto() {
+    }
+
+    public CursorPageDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Convert the items of this page while keeping the cursor
+     *
+     * @param mapper the conversion applied to each item
+     * @return a new page with the converted items
+     */
+    public <R> CursorPageDto<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = items.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPageDto<>(mapped, nextCursor);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
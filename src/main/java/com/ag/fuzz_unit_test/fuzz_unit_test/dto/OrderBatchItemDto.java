@@ -0,0 +1,67 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+public class OrderBatchItemDto {
+    private int index;
+    private Long userId;
+    private String orderNumber;
+    private Outcome outcome;
+    private String message;
+
+    // Enum for the outcome of a single order
+    public enum Outcome {
+        CREATED, INVALID, USER_NOT_FOUND, FAILED
+    }
+
+    // Constructors
+    public OrderBatchItemDto() {
+    }
+
+    public OrderBatchItemDto(int index, Long userId, String orderNumber, Outcome outcome, String message) {
+        this.index = index;
+        this.userId = userId;
+        this.orderNumber = orderNumber;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderBatchResultDto {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<OrderBatchItemDto> items = new ArrayList<>();
+
+    /**
+     * Record the outcome of one order and update the totals
+     *
+     * @param item the order outcome
+     */
+    public void addItem(OrderBatchItemDto item) {
+        items.add(item);
+        total++;
+        if (item.getOutcome() == OrderBatchItemDto.Outcome.CREATED) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<OrderBatchItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderBatchItemDto> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class OrderStatusUpdateDto {
+
+    @NotEmpty(message = "Order IDs are required")
+    private List<@NotNull Long> orderIds;
+
+    @NotNull(message = "Status is required")
+    private Order.OrderStatus status;
+
+    // Getters and Setters
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+}
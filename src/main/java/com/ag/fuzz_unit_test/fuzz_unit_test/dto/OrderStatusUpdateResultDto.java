@@ -0,0 +1,44 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderStatusUpdateResultDto {
+    private int updated;
+    private int unchanged;
+    private List<Long> rejectedIds = new ArrayList<>();
+    private List<Long> notFoundIds = new ArrayList<>();
+
+    // Getters and Setters
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public List<Long> getRejectedIds() {
+        return rejectedIds;
+    }
+
+    public void setRejectedIds(List<Long> rejectedIds) {
+        this.rejectedIds = rejectedIds;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+
+    public void setNotFoundIds(List<Long> notFoundIds) {
+        this.notFoundIds = notFoundIds;
+    }
+}
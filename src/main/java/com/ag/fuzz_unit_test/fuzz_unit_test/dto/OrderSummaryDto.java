@@ -0,0 +1,78 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class OrderSummaryDto {
+    private Long id;
+    private String orderNumber;
+    private BigDecimal totalAmount;
+    private Order.OrderStatus status;
+    private LocalDateTime createdAt;
+    private Long userId;
+
+    // Constructors
+    public OrderSummaryDto() {
+    }
+
+    public OrderSummaryDto(Long id, String orderNumber, BigDecimal totalAmount, Order.OrderStatus status,
+                           LocalDateTime createdAt, Long userId) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.userId = userId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.ParticipantStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class ParticipantDeactivationDto {
+
+    @NotEmpty(message = "Participant IDs are required")
+    private List<@NotNull Long> participantIds;
+
+    private ParticipantStatus status = ParticipantStatus.INACTIVE;
+
+    // Getters and Setters
+    public List<Long> getParticipantIds() {
+        return participantIds;
+    }
+
+    public void setParticipantIds(List<Long> participantIds) {
+        this.participantIds = participantIds;
+    }
+
+    public ParticipantStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ParticipantStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParticipantDeactivationResultDto {
+    private int participantsUpdated;
+    private int bookingsCancelled;
+    private List<Long> notFoundIds = new ArrayList<>();
+
+    // Getters and Setters
+    public int getParticipantsUpdated() {
+        return participantsUpdated;
+    }
+
+    public void setParticipantsUpdated(int participantsUpdated) {
+        this.participantsUpdated = participantsUpdated;
+    }
+
+    public int getBookingsCancelled() {
+        return bookingsCancelled;
+    }
+
+    public void setBookingsCancelled(int bookingsCancelled) {
+        this.bookingsCancelled = bookingsCancelled;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+
+    public void setNotFoundIds(List<Long> notFoundIds) {
+        this.notFoundIds = notFoundIds;
+    }
+}
@@ -1,12 +1,13 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.ParticipantStatus;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Map;
 
 public class ParticipantDto {
     private Long id;
@@ -29,7 +30,7 @@ public class ParticipantDto {
     
     private LocalDateTime updatedAt;
     
-    private List<BookingSummaryDto> bookings;
+    private Map<BookingStatus, Long> bookingCounts;
 
     // Getters and Setters
     public Long getId() {
@@ -96,11 +97,11 @@ public class ParticipantDto {
         this.updatedAt = updatedAt;
     }
 
-    public List<BookingSummaryDto> getBookings() {
-        return bookings;
+    public Map<BookingStatus, Long> getBookingCounts() {
+        return bookingCounts;
     }
 
-    public void setBookings(List<BookingSummaryDto> bookings) {
-        this.bookings = bookings;
+    public void setBookingCounts(Map<BookingStatus, Long> bookingCounts) {
+        this.bookingCounts = bookingCounts;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParticipantImportResultDto {
+    private int total;
+    private int created;
+    private int rejected;
+    private boolean aborted;
+    private List<ParticipantImportRowDto> rows = new ArrayList<>();
+
+    /**
+     * Record the outcome of one row and update the totals
+     *
+     * @param row the row outcome
+     */
+    public void addRow(ParticipantImportRowDto row) {
+        rows.add(row);
+        total++;
+        if (row.getOutcome() == ParticipantImportRowDto.Outcome.CREATED) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public void setAborted(boolean aborted) {
+        this.aborted = aborted;
+    }
+
+    public List<ParticipantImportRowDto> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<ParticipantImportRowDto> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+public class ParticipantImportRowDto {
+    private int row;
+    private String email;
+    private Outcome outcome;
+    private String message;
+
+    // Enum for the outcome of a single row
+    public enum Outcome {
+        CREATED, DUPLICATE_IN_BATCH, ALREADY_EXISTS, INVALID, FAILED
+    }
+
+    // Constructors
+    public ParticipantImportRowDto() {
+    }
+
+    public ParticipantImportRowDto(int row, String email, Outcome outcome, String message) {
+        this.row = row;
+        this.email = email;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
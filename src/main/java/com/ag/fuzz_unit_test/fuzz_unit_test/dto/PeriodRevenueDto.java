@@ -0,0 +1,45 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class PeriodRevenueDto {
+    private LocalDate periodStart;
+    private long orderCount;
+    private BigDecimal revenue;
+
+    // Constructors
+    public PeriodRevenueDto() {
+    }
+
+    public PeriodRevenueDto(LocalDate periodStart, long orderCount, BigDecimal revenue) {
+        this.periodStart = periodStart;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
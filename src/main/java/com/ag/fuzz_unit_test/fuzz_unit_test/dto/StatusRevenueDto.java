@@ -0,0 +1,46 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+
+import java.math.BigDecimal;
+
+public class StatusRevenueDto {
+    private Order.OrderStatus status;
+    private long orderCount;
+    private BigDecimal revenue;
+
+    // Constructors
+    public StatusRevenueDto() {
+    }
+
+    public StatusRevenueDto(Order.OrderStatus status, long orderCount, BigDecimal revenue) {
+        this.status = status;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
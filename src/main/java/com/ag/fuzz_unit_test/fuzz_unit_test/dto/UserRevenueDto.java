@@ -0,0 +1,54 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.dto;
+
+import java.math.BigDecimal;
+
+public class UserRevenueDto {
+    private Long userId;
+    private String username;
+    private long orderCount;
+    private BigDecimal revenue;
+
+    // Constructors
+    public UserRevenueDto() {
+    }
+
+    public UserRevenueDto(Long userId, String username, long orderCount, BigDecimal revenue) {
+        this.userId = userId;
+        this.username = username;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
@@ -4,14 +4,18 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_participant_status_date", columnList = "participant_id, status, booking_date"),
+        // The unfiltered history pages order by date and id without a status, which the index above cannot serve
+        @Index(name = "idx_bookings_participant_date", columnList = "participant_id, booking_date, id")
+})
 public class Booking {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(name = "booking_date", nullable = false)
     private LocalDate bookingDate;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,103 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A booking moved out of the {@code bookings} table once its course is long finished.
+ * The ID is the ID the booking had in the hot table, so both tables share one ID space.
+ */
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_participant_date", columnList = "participant_id, booking_date"),
+        @Index(name = "idx_bookings_archive_course", columnList = "course_id")
+})
+public class BookingArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "participant_id", nullable = false)
+    private Participant participant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Create a detached booking with the same values, so archived and live bookings
+     * can be returned through the same read APIs
+     *
+     * @return a booking that must not be persisted
+     */
+    public Booking toBooking() {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setBookingDate(bookingDate);
+        booking.setStatus(status);
+        booking.setParticipant(participant);
+        booking.setCourse(course);
+        return booking;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public Participant getParticipant() {
+        return participant;
+    }
+
+    public void setParticipant(Participant participant) {
+        this.participant = participant;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -5,9 +5,16 @@ import jakarta.validation.constraints.DecimalMin;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_created", columnList = "order_status, created_at"),
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at")
+})
 public class Order {
 
     @Id
@@ -40,7 +47,43 @@ public class Order {
 
     // Enum for order status
     public enum OrderStatus {
-        PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED
+        PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED;
+
+        // Statuses an order may move to from each status; DELIVERED and CANCELLED are final
+        private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, SHIPPED, CANCELLED));
+            TRANSITIONS.put(CONFIRMED, EnumSet.of(SHIPPED, CANCELLED));
+            TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        }
+
+        /**
+         * Check whether an order in this status may move to another status
+         *
+         * @param next the status to move to
+         * @return true if the transition is allowed
+         */
+        public boolean canTransitionTo(OrderStatus next) {
+            return TRANSITIONS.get(this).contains(next);
+        }
+
+        /**
+         * Get the statuses an order may move to this status from
+         *
+         * @return the allowed predecessors, empty for PENDING
+         */
+        public Set<OrderStatus> predecessors() {
+            Set<OrderStatus> predecessors = EnumSet.noneOf(OrderStatus.class);
+            TRANSITIONS.forEach((from, targets) -> {
+                if (targets.contains(this)) {
+                    predecessors.add(from);
+                }
+            });
+            return predecessors;
+        }
     }
 
     // Constructors
@@ -0,0 +1,12 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.exception;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
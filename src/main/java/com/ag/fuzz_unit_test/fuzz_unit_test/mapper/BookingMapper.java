@@ -71,6 +71,21 @@ public class BookingMapper {
         return dto;
     }
 
+    public BookingDto toHistoryDto(Booking booking) {
+        if (booking == null) {
+            return null;
+        }
+
+        // The participant is implied by the history being requested, so only the course is set
+        BookingDto dto = new BookingDto();
+        dto.setId(booking.getId());
+        dto.setBookingDate(booking.getBookingDate());
+        dto.setStatus(booking.getStatus());
+        dto.setCourse(courseMapper.toSummaryDto(booking.getCourse()));
+
+        return dto;
+    }
+
     public List<BookingDto> toDtoList(List<Booking> bookings) {
         return bookings.stream()
                 .map(this::toDto)
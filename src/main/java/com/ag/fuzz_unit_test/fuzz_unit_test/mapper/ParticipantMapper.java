@@ -1,23 +1,18 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.mapper;
 
-import com.ag.fuzz_unit_test.fuzz_unit_test.dto.BookingSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantSummaryDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Participant;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 public class ParticipantMapper {
 
-    private final BookingMapper bookingMapper;
-
-    public ParticipantMapper(BookingMapper bookingMapper) {
-        this.bookingMapper = bookingMapper;
-    }
-
     public ParticipantDto toDto(Participant participant) {
         if (participant == null) {
             return null;
@@ -33,14 +28,15 @@ public class ParticipantMapper {
         dto.setCreatedAt(participant.getCreatedAt());
         dto.setUpdatedAt(participant.getUpdatedAt());
 
-        // Convert bookings to DTOs
-        if (participant.getBookings() != null) {
-            List<BookingSummaryDto> bookings = participant.getBookings().stream()
-                    .map(bookingMapper::toSummaryDto)
-                    .collect(Collectors.toList());
-            dto.setBookings(bookings);
-        }
+        // Bookings are not embedded; they are paged through the booking history instead
+        return dto;
+    }
 
+    public ParticipantDto toDto(Participant participant, Map<BookingStatus, Long> bookingCounts) {
+        ParticipantDto dto = toDto(participant);
+        if (dto != null) {
+            dto.setBookingCounts(bookingCounts);
+        }
         return dto;
     }
 
@@ -80,4 +76,11 @@ public class ParticipantMapper {
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
+
+    public List<ParticipantDto> toDtoList(List<Participant> participants,
+                                          Map<Long, Map<BookingStatus, Long>> bookingCounts) {
+        return participants.stream()
+                .map(participant -> toDto(participant, bookingCounts.get(participant.getId())))
+                .collect(Collectors.toList());
+    }
 } 
\ No newline at end of file
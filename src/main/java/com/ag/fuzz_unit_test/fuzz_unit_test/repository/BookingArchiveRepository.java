@@ -0,0 +1,94 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.repository;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingArchive;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingRepository.StatusCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+
+    /**
+     * Copy bookings from the hot table into the archive, keeping their IDs
+     *
+     * @param bookingIds the IDs of the bookings to copy
+     * @param archivedAt the archive timestamp stored on every copied row
+     * @return the number of rows copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive (id, booking_date, status, participant_id, course_id, archived_at) " +
+                   "SELECT id, booking_date, status, participant_id, course_id, :archivedAt " +
+                   "FROM bookings WHERE id IN (:bookingIds)", nativeQuery = true)
+    int copyFromBookings(@Param("bookingIds") Collection<Long> bookingIds,
+                         @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Count the archived bookings of several participants, grouped by participant and status
+     *
+     * @param participantIds the IDs of the participants
+     * @return one row per participant and status that has at least one archived booking
+     */
+    @Query("SELECT a.participant.id AS participantId, a.status AS status, COUNT(a) AS count " +
+           "FROM BookingArchive a WHERE a.participant.id IN :participantIds " +
+           "GROUP BY a.participant.id, a.status")
+    List<StatusCount> countByParticipantIdsGroupedByStatus(@Param("participantIds") Collection<Long> participantIds);
+
+    /**
+     * Find a page of a participant's archived bookings, newest first, starting after the given keyset position
+     *
+     * @param participantId the ID of the participant
+     * @param afterDate the booking date of the last row already returned
+     * @param afterId the ID of the last row already returned
+     * @param pageable the page size; the offset is always zero
+     * @return the archived bookings with their courses fetched
+     */
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.course " +
+           "WHERE a.participant.id = :participantId " +
+           "AND (a.bookingDate < :afterDate OR (a.bookingDate = :afterDate AND a.id < :afterId)) " +
+           "ORDER BY a.bookingDate DESC, a.id DESC")
+    List<BookingArchive> findHistoryPage(@Param("participantId") Long participantId,
+                                         @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    /**
+     * Find a page of a participant's archived bookings with the given status, newest first,
+     * starting after the given keyset position
+     *
+     * @param participantId the ID of the participant
+     * @param status the booking status to filter by
+     * @param afterDate the booking date of the last row already returned
+     * @param afterId the ID of the last row already returned
+     * @param pageable the page size; the offset is always zero
+     * @return the archived bookings with their courses fetched
+     */
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.course " +
+           "WHERE a.participant.id = :participantId AND a.status = :status " +
+           "AND (a.bookingDate < :afterDate OR (a.bookingDate = :afterDate AND a.id < :afterId)) " +
+           "ORDER BY a.bookingDate DESC, a.id DESC")
+    List<BookingArchive> findHistoryPageByStatus(@Param("participantId") Long participantId,
+                                                 @Param("status") BookingStatus status,
+                                                 @Param("afterDate") LocalDate afterDate,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    /**
+     * Find the archived bookings of a course
+     *
+     * @param courseId the ID of the course
+     * @return the archived bookings with participants and course fetched, oldest first
+     */
+    @Query("SELECT a FROM BookingArchive a JOIN FETCH a.participant JOIN FETCH a.course " +
+           "WHERE a.course.id = :courseId ORDER BY a.bookingDate, a.id")
+    List<BookingArchive> findRoster(@Param("courseId") Long courseId);
+}
@@ -2,9 +2,15 @@ package com.ag.fuzz_unit_test.fuzz_unit_test.repository;
 
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Booking;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +34,114 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return an Optional containing the booking if found
      */
     Optional<Booking> findByParticipantIdAndCourseId(Long participantId, Long courseId);
-} 
\ No newline at end of file
+
+    /**
+     * Count the bookings of several participants, grouped by participant and status
+     *
+     * @param participantIds the IDs of the participants
+     * @return one row per participant and status that has at least one booking
+     */
+    @Query("SELECT b.participant.id AS participantId, b.status AS status, COUNT(b) AS count " +
+           "FROM Booking b WHERE b.participant.id IN :participantIds " +
+           "GROUP BY b.participant.id, b.status")
+    List<StatusCount> countByParticipantIdsGroupedByStatus(@Param("participantIds") Collection<Long> participantIds);
+
+    /**
+     * Find a page of a participant's bookings, newest first, starting after the given keyset position
+     *
+     * @param participantId the ID of the participant
+     * @param afterDate the booking date of the last row already returned
+     * @param afterId the ID of the last row already returned
+     * @param pageable the page size; the offset is always zero
+     * @return the bookings with their courses fetched
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.course " +
+           "WHERE b.participant.id = :participantId " +
+           "AND (b.bookingDate < :afterDate OR (b.bookingDate = :afterDate AND b.id < :afterId)) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<Booking> findHistoryPage(@Param("participantId") Long participantId,
+                                  @Param("afterDate") LocalDate afterDate,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
+
+    /**
+     * Find a page of a participant's bookings with the given status, newest first,
+     * starting after the given keyset position
+     *
+     * @param participantId the ID of the participant
+     * @param status the booking status to filter by
+     * @param afterDate the booking date of the last row already returned
+     * @param afterId the ID of the last row already returned
+     * @param pageable the page size; the offset is always zero
+     * @return the bookings with their courses fetched
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.course " +
+           "WHERE b.participant.id = :participantId AND b.status = :status " +
+           "AND (b.bookingDate < :afterDate OR (b.bookingDate = :afterDate AND b.id < :afterId)) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<Booking> findHistoryPageByStatus(@Param("participantId") Long participantId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("afterDate") LocalDate afterDate,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    /**
+     * Find the bookings of a course
+     *
+     * @param courseId the ID of the course
+     * @return the bookings with participants and course fetched, oldest first
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.participant JOIN FETCH b.course " +
+           "WHERE b.course.id = :courseId ORDER BY b.bookingDate, b.id")
+    List<Booking> findRoster(@Param("courseId") Long courseId);
+
+    /**
+     * Find the IDs of bookings in the given statuses whose course ended before the cutoff
+     *
+     * @param statuses the booking statuses eligible for archiving
+     * @param cutoff courses ending on or after this date are kept
+     * @param pageable the batch size; the offset is always zero
+     * @return the booking IDs, lowest first
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.status IN :statuses AND b.course.endDate < :cutoff ORDER BY b.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<BookingStatus> statuses,
+                                 @Param("cutoff") LocalDate cutoff,
+                                 Pageable pageable);
+
+    /**
+     * Delete bookings by ID without loading them
+     *
+     * @param ids the IDs of the bookings to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Cancel the open bookings of several participants on courses that have not started yet
+     *
+     * @param participantIds the IDs of the participants
+     * @param openStatuses the booking statuses that hold a seat
+     * @param today courses starting on or after this date are affected
+     * @return the number of bookings cancelled
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus.CANCELLED " +
+           "WHERE b.participant.id IN :participantIds AND b.status IN :openStatuses " +
+           "AND b.course.id IN (SELECT c.id FROM Course c WHERE c.startDate >= :today)")
+    int cancelOpenBookingsOnUpcomingCourses(@Param("participantIds") Collection<Long> participantIds,
+                                            @Param("openStatuses") Collection<BookingStatus> openStatuses,
+                                            @Param("today") LocalDate today);
+
+    /**
+     * Number of bookings a participant has in one status
+     */
+    interface StatusCount {
+        Long getParticipantId();
+
+        BookingStatus getStatus();
+
+        long getCount();
+    }
+}
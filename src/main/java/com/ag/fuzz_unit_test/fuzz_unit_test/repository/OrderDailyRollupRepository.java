@@ -0,0 +1,74 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.repository;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.PeriodRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.StatusRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.OrderDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderDailyRollupRepository extends JpaRepository<OrderDailyRollup, Long> {
+
+    /**
+     * Add to the count and revenue of one day and status
+     *
+     * @return the number of rows updated, zero if the row does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE OrderDailyRollup r SET r.orderCount = r.orderCount + :count, r.revenue = r.revenue + :revenue " +
+           "WHERE r.date = :date AND r.status = :status")
+    int increment(@Param("date") LocalDate date,
+                  @Param("status") Order.OrderStatus status,
+                  @Param("count") long count,
+                  @Param("revenue") BigDecimal revenue);
+
+    /**
+     * Recompute every row from the orders table
+     *
+     * @return the number of rows inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_rollups (rollup_date, order_status, order_count, revenue) " +
+                   "SELECT CAST(created_at AS DATE), order_status, COUNT(*), COALESCE(SUM(total_amount), 0) " +
+                   "FROM orders WHERE created_at IS NOT NULL AND order_status IS NOT NULL " +
+                   "GROUP BY CAST(created_at AS DATE), order_status", nativeQuery = true)
+    int insertFromOrders();
+
+    /**
+     * Sum count and revenue per day over a date range
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param statuses the order statuses to include
+     * @return one row per day with at least one order, in date order
+     */
+    @Query("SELECT new com.ag.fuzz_unit_test.fuzz_unit_test.dto.PeriodRevenueDto(r.date, SUM(r.orderCount), SUM(r.revenue)) " +
+           "FROM OrderDailyRollup r " +
+           "WHERE r.date BETWEEN :from AND :to AND r.status IN :statuses AND r.orderCount > 0 " +
+           "GROUP BY r.date ORDER BY r.date")
+    List<PeriodRevenueDto> sumByDay(@Param("from") LocalDate from,
+                                    @Param("to") LocalDate to,
+                                    @Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    /**
+     * Sum count and revenue per status over a date range
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one row per status with at least one order
+     */
+    @Query("SELECT new com.ag.fuzz_unit_test.fuzz_unit_test.dto.StatusRevenueDto(r.status, SUM(r.orderCount), SUM(r.revenue)) " +
+           "FROM OrderDailyRollup r " +
+           "WHERE r.date BETWEEN :from AND :to AND r.orderCount > 0 " +
+           "GROUP BY r.status")
+    List<StatusRevenueDto> sumByStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,18 +1,159 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.repository;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderSummaryDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.PeriodRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.StatusRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserRevenueDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     List<Order> findByUser(User user);
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    /**
+     * Find the summary of an order by its order number, using the unique index on order_number
+     *
+     * @param orderNumber the order number
+     * @return the summary, if the order exists
+     */
+    @Query("SELECT new com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderSummaryDto(" +
+           "o.id, o.orderNumber, o.totalAmount, o.status, o.createdAt, o.user.id) " +
+           "FROM Order o WHERE o.orderNumber = :orderNumber")
+    Optional<OrderSummaryDto> findSummaryByOrderNumber(@Param("orderNumber") String orderNumber);
+
     List<Order> findByStatus(Order.OrderStatus status);
+
+    /**
+     * Sum count and revenue per status of the orders created in a time range
+     *
+     * @param from the earliest creation time, inclusive
+     * @param to the latest creation time, exclusive
+     * @return one row per status with at least one order
+     */
+    @Query("SELECT new com.ag.fuzz_unit_test.fuzz_unit_test.dto.StatusRevenueDto(" +
+           "o.status, COUNT(o), COALESCE(SUM(o.totalAmount), 0)) " +
+           "FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to " +
+           "GROUP BY o.status")
+    List<StatusRevenueDto> sumByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Sum count and revenue per creation day of the orders created in a time range
+     *
+     * @param from the earliest creation time, inclusive
+     * @param to the latest creation time, exclusive
+     * @param statuses the order statuses to include
+     * @return one row per day with at least one order, in date order
+     */
+    @Query("SELECT new com.ag.fuzz_unit_test.fuzz_unit_test.dto.PeriodRevenueDto(" +
+           "CAST(o.createdAt AS LocalDate), COUNT(o), COALESCE(SUM(o.totalAmount), 0)) " +
+           "FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to AND o.status IN :statuses " +
+           "GROUP BY CAST(o.createdAt AS LocalDate) ORDER BY CAST(o.createdAt AS LocalDate)")
+    List<PeriodRevenueDto> sumByDay(@Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    /**
+     * Find the users with the highest revenue from orders created in a time range
+     *
+     * @param from the earliest creation time, inclusive
+     * @param to the latest creation time, exclusive
+     * @param statuses the order statuses to include
+     * @param pageable the number of users to return; the offset is always zero
+     * @return the users ordered by revenue, highest first
+     */
+    @Query("SELECT new com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserRevenueDto(" +
+           "u.id, u.username, COUNT(o), COALESCE(SUM(o.totalAmount), 0)) " +
+           "FROM Order o JOIN o.user u " +
+           "WHERE o.createdAt >= :from AND o.createdAt < :to AND o.status IN :statuses " +
+           "GROUP BY u.id, u.username ORDER BY COALESCE(SUM(o.totalAmount), 0) DESC, u.id")
+    List<UserRevenueDto> findTopUsersByRevenue(@Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("statuses") Collection<Order.OrderStatus> statuses,
+                                               Pageable pageable);
+
+    /**
+     * Read the status of several orders and lock them until the transaction ends,
+     * so a following status update sees exactly these statuses
+     *
+     * @param ids the IDs of the orders
+     * @return one row per order that exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, o.createdAt AS createdAt, " +
+           "o.totalAmount AS totalAmount " +
+           "FROM Order o WHERE o.id IN :ids")
+    List<StatusSnapshot> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read the status of all orders of a user and lock them until the transaction ends,
+     * so the orders can be removed from the revenue rollup exactly as they are deleted
+     *
+     * @param userId the user ID
+     * @return one row per order of the user
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, o.createdAt AS createdAt, " +
+           "o.totalAmount AS totalAmount " +
+           "FROM Order o WHERE o.user.id = :userId")
+    List<StatusSnapshot> lockStatusesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete orders by ID without loading them
+     *
+     * @param ids the IDs of the orders to delete
+     * @return the number of rows deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move several orders to a status, skipping orders whose current status does not allow it
+     *
+     * @param ids the IDs of the orders
+     * @param predecessors the statuses an order may be in to move to the new status
+     * @param status the new status
+     * @param updatedAt the update timestamp stored on every changed row
+     * @return the number of orders whose status changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt " +
+           "WHERE o.id IN :ids AND o.status IN :predecessors")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("predecessors") Collection<Order.OrderStatus> predecessors,
+                     @Param("status") Order.OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Status of an order, with the creation time and amount its revenue is counted under
+     * and the order number its cached summary is kept under
+     */
+    interface StatusSnapshot {
+        Long getId();
+
+        String getOrderNumber();
+
+        Order.OrderStatus getStatus();
+
+        LocalDateTime getCreatedAt();
+
+        BigDecimal getTotalAmount();
+    }
 }
@@ -0,0 +1,30 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.repository;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderSummaryDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Order queries whose filters are only known at runtime
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Find a page of order summaries, newest first, starting after the given keyset position.
+     * Every filter is optional and only added to the query when it is set.
+     *
+     * @param status the order status, or null for any status
+     * @param userId the ID of the ordering user, or null for any user
+     * @param createdFrom the earliest creation time, inclusive, or null
+     * @param createdTo the latest creation time, exclusive, or null
+     * @param afterCreatedAt the creation time of the last order of the previous page, or null for the first page
+     * @param afterId the ID of the last order of the previous page
+     * @param limit the maximum number of orders to return
+     * @return the matching orders ordered by creation time and ID, descending
+     */
+    List<OrderSummaryDto> findSummaryPage(Order.OrderStatus status, Long userId,
+                                          LocalDateTime createdFrom, LocalDateTime createdTo,
+                                          LocalDateTime afterCreatedAt, long afterId, int limit);
+}
@@ -0,0 +1,63 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.repository;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderSummaryDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderSummaryDto> findSummaryPage(Order.OrderStatus status, Long userId,
+                                                 LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                 LocalDateTime afterCreatedAt, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryDto> query = cb.createQuery(OrderSummaryDto.class);
+        Root<Order> order = query.from(Order.class);
+        // Reads the user_id foreign key column, no join with users
+        Path<Long> orderUserId = order.get("user").get("id");
+        Path<LocalDateTime> createdAt = order.get("createdAt");
+        Path<Long> id = order.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(order.get("status"), status));
+        }
+        if (userId != null) {
+            predicates.add(cb.equal(orderUserId, userId));
+        }
+        if (createdFrom != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, createdFrom));
+        }
+        if (createdTo != null) {
+            predicates.add(cb.lessThan(createdAt, createdTo));
+        }
+        if (afterCreatedAt != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))));
+        }
+
+        query.select(cb.construct(OrderSummaryDto.class,
+                        id, order.get("orderNumber"), order.get("totalAmount"), order.get("status"),
+                        createdAt, orderUserId))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,9 +1,16 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.repository;
 
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Participant;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.ParticipantStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +23,37 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
      * @return an Optional containing the participant if found
      */
     Optional<Participant> findByEmail(String email);
-} 
\ No newline at end of file
+
+    /**
+     * Find which of the given email addresses are already taken
+     *
+     * @param emails the email addresses to check
+     * @return the subset of the given addresses that belong to a participant
+     */
+    @Query("SELECT p.email FROM Participant p WHERE p.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find which of the given participant IDs exist
+     *
+     * @param ids the IDs to check
+     * @return the subset of the given IDs that belong to a participant
+     */
+    @Query("SELECT p.id FROM Participant p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the status of several participants without loading them
+     *
+     * @param ids the IDs of the participants
+     * @param status the new status
+     * @param updatedAt the modification timestamp to store
+     * @return the number of participants whose status changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Participant p SET p.status = :status, p.updatedAt = :updatedAt " +
+           "WHERE p.id IN :ids AND p.status <> :status")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") ParticipantStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+}
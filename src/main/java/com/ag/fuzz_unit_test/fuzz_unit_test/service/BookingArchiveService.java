@@ -0,0 +1,90 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.service;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingArchiveRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves bookings that can no longer change out of the {@code bookings} table, so the
+ * capacity and duplicate checks only ever scan live bookings.
+ */
+@Service
+public class BookingArchiveService {
+
+    static final Set<BookingStatus> ARCHIVABLE_STATUSES = EnumSet.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED);
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    @Autowired
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 BookingArchiveRepository bookingArchiveRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${booking.archive.retention-days:365}") int retentionDays,
+                                 @Value("${booking.archive.batch-size:1000}") int batchSize) {
+        if (retentionDays < 0) {
+            throw new IllegalArgumentException("Booking archive retention must not be negative");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Booking archive batch size must be greater than zero");
+        }
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Run the archive job on the configured schedule
+     */
+    @Scheduled(cron = "${booking.archive.cron:0 30 2 * * *}")
+    public void archiveOnSchedule() {
+        archiveBookings(LocalDate.now());
+    }
+
+    /**
+     * Archive completed and cancelled bookings of courses that ended before the retention window.
+     * Each batch is copied and deleted in its own transaction, so the job holds locks only
+     * briefly and can be interrupted without losing work already done.
+     *
+     * @param today the date the retention window is measured from
+     * @return the number of bookings archived
+     */
+    public int archiveBookings(LocalDate today) {
+        LocalDate cutoff = today.minusDays(retentionDays);
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += archived;
+        } while (archived == batchSize);
+        return total;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        List<Long> ids = bookingRepository.findArchivableIds(ARCHIVABLE_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingArchiveRepository.copyFromBookings(ids, LocalDateTime.now());
+        bookingRepository.deleteAllByIdIn(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,198 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.service;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderBatchItemDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderBatchItemDto.Outcome;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderBatchResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.UserRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.OrderNumberGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderBatchService {
+
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO orders (order_number, total_amount, order_status, shipping_address, created_at, updated_at, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderRevenueService orderRevenueService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Autowired
+    public OrderBatchService(UserRepository userRepository,
+                             OrderNumberGenerator orderNumberGenerator,
+                             OrderRevenueService orderRevenueService,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator) {
+        this.userRepository = userRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.orderRevenueService = orderRevenueService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+    }
+
+    /**
+     * Create several orders with one user lookup and one JDBC batch insert.
+     * Orders that are invalid or reference an unknown user are reported and skipped;
+     * the rest are still created.
+     *
+     * @param orderDtos the orders to create
+     * @return the outcome of every order, in request order
+     */
+    public OrderBatchResultDto createOrders(List<OrderDto> orderDtos) {
+        if (orderDtos == null || orderDtos.isEmpty()) {
+            throw new BadRequestException("Order batch must contain at least one order");
+        }
+        if (orderDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Order batch must not contain more than " + MAX_BATCH_SIZE + " orders");
+        }
+
+        List<OrderBatchItemDto> outcomes = new ArrayList<>(orderDtos.size());
+        List<PendingOrder> valid = new ArrayList<>(orderDtos.size());
+        for (int index = 0; index < orderDtos.size(); index++) {
+            OrderBatchItemDto rejected = checkOrder(index, orderDtos.get(index));
+            if (rejected != null) {
+                outcomes.add(rejected);
+            } else {
+                valid.add(new PendingOrder(index, orderDtos.get(index)));
+            }
+        }
+
+        List<PendingOrder> inserts = new ArrayList<>(valid.size());
+        if (!valid.isEmpty()) {
+            Set<Long> existingUsers = new HashSet<>(userRepository.findExistingIds(
+                    valid.stream().map(order -> order.dto.getUserId()).collect(Collectors.toSet())));
+            for (PendingOrder order : valid) {
+                if (existingUsers.contains(order.dto.getUserId())) {
+                    inserts.add(order);
+                } else {
+                    outcomes.add(new OrderBatchItemDto(order.index, order.dto.getUserId(), null,
+                            Outcome.USER_NOT_FOUND, "User not found with id : '" + order.dto.getUserId() + "'"));
+                }
+            }
+        }
+
+        List<String> orderNumbers = orderNumberGenerator.nextOrderNumbers(inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).orderNumber = orderNumbers.get(i);
+        }
+        insert(inserts, outcomes);
+
+        OrderBatchResultDto result = new OrderBatchResultDto();
+        outcomes.sort(Comparator.comparingInt(OrderBatchItemDto::getIndex));
+        outcomes.forEach(result::addItem);
+        return result;
+    }
+
+    /**
+     * Validate an order
+     *
+     * @return the rejection, or null if the order should be inserted
+     */
+    private OrderBatchItemDto checkOrder(int index, OrderDto dto) {
+        if (dto == null) {
+            return new OrderBatchItemDto(index, null, null, Outcome.INVALID, "Order must be a JSON object");
+        }
+        Set<ConstraintViolation<OrderDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String message = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return new OrderBatchItemDto(index, dto.getUserId(), null, Outcome.INVALID, message);
+    }
+
+    /**
+     * Insert the orders as one JDBC batch in a single transaction, together with their
+     * revenue rollup. If the batch fails, for example because a user was deleted in the
+     * meantime, it is rolled back and the orders are retried one at a time so only the
+     * offending orders fail.
+     */
+    private void insert(List<PendingOrder> orders, List<OrderBatchItemDto> outcomes) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, orders.stream().map(order -> toParameters(order, createdAt)).toList());
+                BigDecimal revenue = orders.stream()
+                        .map(order -> amountOf(order.dto))
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                orderRevenueService.recordChange(now.toLocalDate(), Order.OrderStatus.PENDING, orders.size(), revenue);
+            });
+            orders.forEach(order -> outcomes.add(created(order)));
+        } catch (DataAccessException batchFailure) {
+            for (PendingOrder order : orders) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_SQL, toParameters(order, createdAt));
+                        orderRevenueService.recordChange(now.toLocalDate(), Order.OrderStatus.PENDING, 1,
+                                amountOf(order.dto));
+                    });
+                    outcomes.add(created(order));
+                } catch (DataAccessException e) {
+                    outcomes.add(new OrderBatchItemDto(order.index, order.dto.getUserId(), null,
+                            Outcome.FAILED, e.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+    }
+
+    private static OrderBatchItemDto created(PendingOrder order) {
+        return new OrderBatchItemDto(order.index, order.dto.getUserId(), order.orderNumber, Outcome.CREATED, null);
+    }
+
+    private static BigDecimal amountOf(OrderDto dto) {
+        return dto.getTotalAmount() != null ? dto.getTotalAmount() : BigDecimal.ZERO;
+    }
+
+    private static Object[] toParameters(PendingOrder order, Timestamp now) {
+        return new Object[] {
+                order.orderNumber, order.dto.getTotalAmount(), Order.OrderStatus.PENDING.name(),
+                order.dto.getShippingAddress(), now, now, order.dto.getUserId()
+        };
+    }
+
+    private static final class PendingOrder {
+        private final int index;
+        private final OrderDto dto;
+        private String orderNumber;
+
+        private PendingOrder(int index, OrderDto dto) {
+            this.index = index;
+            this.dto = dto;
+        }
+    }
+}
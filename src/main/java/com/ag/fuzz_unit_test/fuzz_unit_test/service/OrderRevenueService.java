@@ -0,0 +1,221 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.service;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.PeriodRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.StatusRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderDailyRollupRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Revenue figures computed by the database. Per-day and per-status figures come from the
+ * daily rollup table when it is enabled, and from the orders table otherwise.
+ */
+@Service
+public class OrderRevenueService {
+
+    // Revenue counts every order that has not been cancelled, unless a status is given
+    static final Set<Order.OrderStatus> REVENUE_STATUSES = EnumSet.complementOf(EnumSet.of(Order.OrderStatus.CANCELLED));
+
+    private static final int MAX_TOP_USERS = 100;
+
+    private static final String INSERT_ROLLUP_SQL =
+            "INSERT INTO order_daily_rollups (rollup_date, order_status, order_count, revenue) VALUES (?, ?, ?, ?)";
+
+    private final OrderRepository orderRepository;
+    private final OrderDailyRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean rollupEnabled;
+
+    @Autowired
+    public OrderRevenueService(OrderRepository orderRepository,
+                               OrderDailyRollupRepository rollupRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${order.revenue.rollup-enabled:false}") boolean rollupEnabled) {
+        this.orderRepository = orderRepository;
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupEnabled = rollupEnabled;
+    }
+
+    /**
+     * Get order count and revenue per status
+     *
+     * @param from the first creation day, inclusive
+     * @param to the last creation day, inclusive
+     * @return one entry per status with at least one order
+     */
+    @Transactional(readOnly = true)
+    public List<StatusRevenueDto> getRevenueByStatus(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        if (rollupEnabled) {
+            return rollupRepository.sumByStatus(from, to);
+        }
+        return orderRepository.sumByStatus(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Get the users with the highest revenue
+     *
+     * @param from the first creation day, inclusive
+     * @param to the last creation day, inclusive
+     * @param status the order status to count, or null for all orders that are not cancelled
+     * @param limit the maximum number of users to return
+     * @return the users ordered by revenue, highest first
+     */
+    @Transactional(readOnly = true)
+    public List<UserRevenueDto> getTopUsersByRevenue(LocalDate from, LocalDate to, Order.OrderStatus status, int limit) {
+        checkRange(from, to);
+        int size = Math.max(1, Math.min(limit, MAX_TOP_USERS));
+        return orderRepository.findTopUsersByRevenue(from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                statuses(status), PageRequest.of(0, size));
+    }
+
+    /**
+     * Get order count and revenue per day
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param status the order status to count, or null for all orders that are not cancelled
+     * @return one entry per day with at least one order, in date order
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodRevenueDto> getDailyRevenue(LocalDate from, LocalDate to, Order.OrderStatus status) {
+        checkRange(from, to);
+        if (rollupEnabled) {
+            return rollupRepository.sumByDay(from, to, statuses(status));
+        }
+        return orderRepository.sumByDay(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), statuses(status));
+    }
+
+    /**
+     * Get order count and revenue per month, folded from the daily figures
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param status the order status to count, or null for all orders that are not cancelled
+     * @return one entry per month with at least one order, keyed by the first day of the month
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodRevenueDto> getMonthlyRevenue(LocalDate from, LocalDate to, Order.OrderStatus status) {
+        List<PeriodRevenueDto> months = new ArrayList<>();
+        PeriodRevenueDto month = null;
+        for (PeriodRevenueDto day : getDailyRevenue(from, to, status)) {
+            LocalDate monthStart = day.getPeriodStart().withDayOfMonth(1);
+            if (month == null || !month.getPeriodStart().equals(monthStart)) {
+                month = new PeriodRevenueDto(monthStart, 0, BigDecimal.ZERO);
+                months.add(month);
+            }
+            month.setOrderCount(month.getOrderCount() + day.getOrderCount());
+            month.setRevenue(month.getRevenue().add(day.getRevenue()));
+        }
+        return months;
+    }
+
+    /**
+     * Record that an order entered or left a status. Call it in the transaction that
+     * changes the order, so the rollup commits or rolls back together with it.
+     *
+     * @param order the order, with the creation time and amount it is counted under
+     * @param status the status the order entered or left
+     * @param count 1 if the order entered the status, -1 if it left it
+     */
+    @Transactional
+    public void recordOrderChange(Order order, Order.OrderStatus status, int count) {
+        if (!rollupEnabled || order.getCreatedAt() == null || status == null) {
+            return;
+        }
+        BigDecimal amount = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+        recordChange(order.getCreatedAt().toLocalDate(), status, count, amount.multiply(BigDecimal.valueOf(count)));
+    }
+
+    /**
+     * Add to the count and revenue of one day and status, for changes that cover several
+     * orders at once. Like {@link #recordOrderChange}, call it in the transaction that
+     * changes the orders.
+     *
+     * @param date the creation day of the orders
+     * @param status the status the orders entered or left
+     * @param count the number of orders that entered the status, negative if they left it
+     * @param revenue the total amount of those orders, negative if they left the status
+     */
+    @Transactional
+    public void recordChange(LocalDate date, Order.OrderStatus status, long count, BigDecimal revenue) {
+        if (!rollupEnabled || count == 0) {
+            return;
+        }
+        if (rollupRepository.increment(date, status, count, revenue) > 0) {
+            return;
+        }
+        try {
+            insertUnderSavepoint(date, status.name(), count, revenue);
+        } catch (DuplicateKeyException e) {
+            // Another transaction created the row in the meantime
+            rollupRepository.increment(date, status, count, revenue);
+        }
+    }
+
+    /**
+     * Insert a rollup row under a savepoint on the transaction's connection. A failed
+     * insert rolls back to the savepoint, so the transaction can go on even on databases
+     * such as PostgreSQL that refuse further statements after an error.
+     */
+    private void insertUnderSavepoint(Object... args) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ROLLUP_SQL)) {
+                new ArgumentPreparedStatementSetter(args).setValues(statement);
+                int inserted = statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return inserted;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Recompute the whole rollup table from the orders table, for example after it was
+     * disabled for a while. Orders written while the rebuild runs may be counted twice
+     * or not at all, so run it when order traffic is quiet.
+     *
+     * @return the number of rollup rows written
+     */
+    @Transactional
+    public int rebuildRollup() {
+        rollupRepository.deleteAllInBatch();
+        return rollupRepository.insertFromOrders();
+    }
+
+    private static Set<Order.OrderStatus> statuses(Order.OrderStatus status) {
+        return status != null ? EnumSet.of(status) : REVENUE_STATUSES;
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+    }
+}
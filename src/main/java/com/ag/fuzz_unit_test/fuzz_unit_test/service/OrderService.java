@@ -1,33 +1,111 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.service;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.CursorPageDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderStatusUpdateResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.User;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BusinessException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.ResourceNotFoundException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderRepository.StatusSnapshot;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.UserRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.KeysetCursor;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.LruCache;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.OrderNumberGenerator;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_IDS_PER_QUERY = 1000;
+    private static final int ORDER_NUMBER_CACHE_SIZE = 10_000;
+    private static final Duration ORDER_NUMBER_CACHE_TTL = Duration.ofMinutes(5);
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderRevenueService orderRevenueService;
+
+    // Order number -> private copy of the summary; misses are not cached, so a new order is found at once.
+    // Order numbers never change, so writers evict by the order numbers of the rows they locked.
+    private final LruCache<String, OrderSummaryDto> orderNumberLookups =
+            new LruCache<>(ORDER_NUMBER_CACHE_SIZE, ORDER_NUMBER_CACHE_TTL);
 
     @Autowired
-    public OrderService(OrderRepository orderRepository, UserRepository userRepository) {
+    public OrderService(OrderRepository orderRepository, UserRepository userRepository,
+                        OrderNumberGenerator orderNumberGenerator, OrderRevenueService orderRevenueService) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.orderRevenueService = orderRevenueService;
     }
 
+    /**
+     * Search orders, newest first, one page at a time
+     *
+     * @param status the order status to filter by, or null for all statuses
+     * @param userId the user to filter by, or null for all users
+     * @param createdFrom the earliest creation time, inclusive, or null
+     * @param createdTo the latest creation time, exclusive, or null
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of orders to return
+     * @return the orders and the cursor of the next page, if there is one
+     */
     @Transactional(readOnly = true)
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public CursorPageDto<OrderSummaryDto> searchOrders(Order.OrderStatus status, Long userId,
+                                                       LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                       String cursor, int size) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new BadRequestException("createdFrom must be before createdTo");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        LocalDateTime afterCreatedAt = null;
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            afterCreatedAt = position.sortKeyAsDateTime();
+            afterId = position.getId();
+        }
+
+        // Fetch one extra row to find out whether there is a next page
+        List<OrderSummaryDto> orders = orderRepository.findSummaryPage(status, userId, createdFrom, createdTo,
+                afterCreatedAt, afterId, limit + 1);
+
+        // Only probe for the user when the first page is empty
+        if (orders.isEmpty() && userId != null && cursor == null && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            OrderSummaryDto last = orders.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt().toString(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(orders, nextCursor);
     }
 
     @Transactional(readOnly = true)
@@ -36,11 +114,55 @@ public class OrderService {
                 () -> new ResourceNotFoundException("Order", "id", id));
     }
 
+    /**
+     * Get the summary of an order by its order number. Summaries are cached for a
+     * few minutes; status changes and deletes through this service evict them.
+     *
+     * @param orderNumber the order number
+     * @return the order summary
+     */
+    @Transactional(readOnly = true)
+    public OrderSummaryDto getOrderSummaryByNumber(String orderNumber) {
+        String key = orderNumber.strip();
+        OrderSummaryDto cached = orderNumberLookups.get(key);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        long stamp = orderNumberLookups.stamp();
+        OrderSummaryDto summary = orderRepository.findSummaryByOrderNumber(key).orElseThrow(
+                () -> new ResourceNotFoundException("Order", "orderNumber", key));
+        orderNumberLookups.putIfNotInvalidated(key, copyOf(summary), stamp);
+        return summary;
+    }
+
+    /**
+     * Copy a summary, so callers cannot change the one held by the cache
+     */
+    private static OrderSummaryDto copyOf(OrderSummaryDto summary) {
+        return new OrderSummaryDto(summary.getId(), summary.getOrderNumber(), summary.getTotalAmount(),
+                summary.getStatus(), summary.getCreatedAt(), summary.getUserId());
+    }
+
+    /**
+     * Evict the cached summaries of orders once the current transaction has committed.
+     * Evicting earlier would let a concurrent lookup re-cache the old summary.
+     */
+    private void evictSummariesAfterCommit(Collection<String> orderNumbers) {
+        List<String> keys = List.copyOf(orderNumbers);
+        TransactionCallbacks.afterCommit(() -> keys.forEach(orderNumberLookups::invalidate));
+    }
+
+    /**
+     * Get a page of a user's orders, newest first, with one indexed query on user_id
+     *
+     * @param userId the user ID
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of orders to return
+     * @return the orders and the cursor of the next page, if there is one
+     */
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByUser(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ResourceNotFoundException("User", "id", userId));
-        return orderRepository.findByUser(user);
+    public CursorPageDto<OrderSummaryDto> getOrdersByUser(Long userId, String cursor, int size) {
+        return searchOrders(null, userId, null, null, cursor, size);
     }
 
     @Transactional
@@ -49,7 +171,7 @@ public class OrderService {
                 () -> new ResourceNotFoundException("User", "id", orderDto.getUserId()));
 
         // Generate unique order number
-        String orderNumber = generateOrderNumber();
+        String orderNumber = orderNumberGenerator.nextOrderNumber();
 
         Order order = new Order();
         order.setOrderNumber(orderNumber);
@@ -57,28 +179,175 @@ public class OrderService {
         order.setShippingAddress(orderDto.getShippingAddress());
         order.setUser(user);
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        orderRevenueService.recordOrderChange(savedOrder, savedOrder.getStatus(), 1);
+        return savedOrder;
     }
 
     @Transactional
     public Order updateOrderStatus(Long id, Order.OrderStatus status) {
         Order order = getOrderById(id);
+        Order.OrderStatus previousStatus = order.getStatus();
+        if (previousStatus == status) {
+            return order;
+        }
+        if (previousStatus != null && !previousStatus.canTransitionTo(status)) {
+            throw new BusinessException("Order status cannot change from " + previousStatus + " to " + status);
+        }
         order.setStatus(status);
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        evictSummariesAfterCommit(List.of(savedOrder.getOrderNumber()));
+        // Statuses only move forward, so the two rollup rows are locked in status order
+        orderRevenueService.recordOrderChange(savedOrder, previousStatus, -1);
+        orderRevenueService.recordOrderChange(savedOrder, status, 1);
+        return savedOrder;
+    }
+
+    /**
+     * Move several orders to a status with one guarded update per chunk. The orders are
+     * locked first, so the update changes exactly the orders whose status allows it.
+     *
+     * @param orderIds the IDs of the orders
+     * @param status the new status
+     * @return how many orders changed, and which IDs were rejected or not found
+     */
+    @Transactional
+    public OrderStatusUpdateResultDto updateOrderStatuses(Collection<Long> orderIds, Order.OrderStatus status) {
+        if (status == null) {
+            throw new BadRequestException("Status is required");
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        Set<Order.OrderStatus> predecessors = status.predecessors();
+        LocalDateTime now = LocalDateTime.now();
+        OrderStatusUpdateResultDto result = new OrderStatusUpdateResultDto();
+        List<StatusSnapshot> updated = new ArrayList<>();
+
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            Map<Long, StatusSnapshot> current = orderRepository.lockStatusesByIdIn(chunk).stream()
+                    .collect(Collectors.toMap(StatusSnapshot::getId, Function.identity()));
+
+            List<StatusSnapshot> updatable = new ArrayList<>(current.size());
+            for (Long id : chunk) {
+                StatusSnapshot order = current.get(id);
+                if (order == null) {
+                    result.getNotFoundIds().add(id);
+                } else if (order.getStatus() == status) {
+                    result.setUnchanged(result.getUnchanged() + 1);
+                } else if (predecessors.contains(order.getStatus())) {
+                    updatable.add(order);
+                } else {
+                    result.getRejectedIds().add(id);
+                }
+            }
+            if (updatable.isEmpty()) {
+                continue;
+            }
+
+            List<Long> updatableIds = updatable.stream().map(StatusSnapshot::getId).toList();
+            result.setUpdated(result.getUpdated() + orderRepository.updateStatus(
+                    updatableIds, predecessors, status, now));
+            evictSummariesAfterCommit(orderNumbersOf(updatable));
+            updated.addAll(updatable);
+        }
+        // Once for all chunks, so the rollup rows are locked in one sorted pass
+        recordStatusChanges(updated, status);
+        return result;
+    }
+
+    /**
+     * Move the revenue of updated orders from their old status to the new one, with one
+     * net rollup change per creation day and status, in (day, status) order
+     */
+    private void recordStatusChanges(List<StatusSnapshot> orders, Order.OrderStatus status) {
+        groupByDayAndStatus(orders).forEach((date, byStatus) -> {
+            Map<Order.OrderStatus, Long> counts = new EnumMap<>(Order.OrderStatus.class);
+            Map<Order.OrderStatus, BigDecimal> revenues = new EnumMap<>(Order.OrderStatus.class);
+            byStatus.forEach((previousStatus, group) -> {
+                BigDecimal revenue = sumRevenue(group);
+                counts.merge(previousStatus, (long) -group.size(), Long::sum);
+                revenues.merge(previousStatus, revenue.negate(), BigDecimal::add);
+                counts.merge(status, (long) group.size(), Long::sum);
+                revenues.merge(status, revenue, BigDecimal::add);
+            });
+            counts.forEach((rowStatus, count) ->
+                    orderRevenueService.recordChange(date, rowStatus, count, revenues.get(rowStatus)));
+        });
+    }
+
+    /**
+     * Take the revenue of deleted orders out of the rollup,
+     * with one rollup change per creation day and status
+     */
+    private void recordDeletions(List<StatusSnapshot> orders) {
+        groupByDayAndStatus(orders).forEach((date, byStatus) -> byStatus.forEach((status, group) ->
+                orderRevenueService.recordChange(date, status, -group.size(), sumRevenue(group).negate())));
+    }
+
+    /**
+     * Group orders by creation day and status, both sorted, so that every writer locks
+     * rollup rows in the same order and two writers cannot deadlock on them
+     */
+    private static Map<LocalDate, Map<Order.OrderStatus, List<StatusSnapshot>>> groupByDayAndStatus(
+            List<StatusSnapshot> orders) {
+        return orders.stream()
+                .filter(order -> order.getCreatedAt() != null && order.getStatus() != null)
+                .collect(Collectors.groupingBy(order -> order.getCreatedAt().toLocalDate(), TreeMap::new,
+                        Collectors.groupingBy(StatusSnapshot::getStatus,
+                                () -> new EnumMap<>(Order.OrderStatus.class), Collectors.toList())));
+    }
+
+    private static List<String> orderNumbersOf(List<StatusSnapshot> orders) {
+        return orders.stream().map(StatusSnapshot::getOrderNumber).filter(Objects::nonNull).toList();
     }
 
+    private static BigDecimal sumRevenue(List<StatusSnapshot> orders) {
+        return orders.stream()
+                .map(order -> order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Delete an order with one DELETE by ID. The order is read as a locked projection
+     * first so its revenue can be taken out of the rollup; the affected-row count
+     * decides whether it existed.
+     *
+     * @param id the order ID
+     */
     @Transactional
     public void deleteOrder(Long id) {
-        Order order = getOrderById(id);
-        orderRepository.delete(order);
+        List<StatusSnapshot> orders = orderRepository.lockStatusesByIdIn(List.of(id));
+        if (orderRepository.deleteAllByIdIn(List.of(id)) == 0) {
+            throw new ResourceNotFoundException("Order", "id", id);
+        }
+        evictSummariesAfterCommit(orderNumbersOf(orders));
+        recordDeletions(orders);
     }
 
     /**
-     * Generates a unique order number.
+     * Delete all orders of a user with bulk DELETEs by ID, without loading the orders as
+     * entities. Only the orders locked for the rollup are deleted, so an order created
+     * after the lock is neither deleted nor missing from the rollup. Joins the caller's
+     * transaction, so the user can be deleted in the same one.
      *
-     * @return a unique order number
+     * @param userId the user ID
+     * @return the number of orders deleted
      */
-    private String generateOrderNumber() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    @Transactional
+    public int deleteOrdersByUser(Long userId) {
+        List<StatusSnapshot> orders = orderRepository.lockStatusesByUserId(userId);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = orders.stream().map(StatusSnapshot::getId).toList();
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            deleted += orderRepository.deleteAllByIdIn(chunk);
+        }
+        evictSummariesAfterCommit(orderNumbersOf(orders));
+        recordDeletions(orders);
+        return deleted;
     }
 }
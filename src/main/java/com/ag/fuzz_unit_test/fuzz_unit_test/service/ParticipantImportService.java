@@ -0,0 +1,248 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.service;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantImportResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantImportRowDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantImportRowDto.Outcome;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.ParticipantStatus;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.ParticipantRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ParticipantImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO participants (first_name, last_name, email, phone, status, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ParticipantRepository participantRepository;
+    private final ParticipantService participantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Autowired
+    public ParticipantImportService(ParticipantRepository participantRepository,
+                                    ParticipantService participantService,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    Validator validator) {
+        this.participantRepository = participantRepository;
+        this.participantService = participantService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Import participants from a JSON array, reading and inserting it chunk by chunk.
+     * Each chunk is committed on its own, so rows reported as created stay created
+     * even if a later row aborts the import.
+     *
+     * @param json the request body holding a JSON array of participants
+     * @return the outcome of every row read
+     */
+    public ParticipantImportResultDto importParticipants(InputStream json) {
+        ParticipantImportResultDto result = new ParticipantImportResultDto();
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<ParticipantImportRowDto> outcomes = new ArrayList<>(CHUNK_SIZE);
+        int rowNumber = 0;
+
+        try (MappingIterator<ParticipantDto> rows = objectMapper.readerFor(ParticipantDto.class).readValues(json)) {
+            while (true) {
+                int current = rowNumber + 1;
+                ParticipantDto dto;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    rowNumber = current;
+                    dto = rows.nextValue();
+                } catch (IOException | RuntimeJsonMappingException e) {
+                    if (isMalformed(e)) {
+                        // The stream itself is broken; there is no way to find the next row
+                        outcomes.add(new ParticipantImportRowDto(current, null, Outcome.INVALID,
+                                "Malformed JSON: " + e.getMessage()));
+                        result.setAborted(true);
+                        break;
+                    }
+                    rowNumber = current;
+                    outcomes.add(new ParticipantImportRowDto(current, null, Outcome.INVALID,
+                            "Unreadable row: " + e.getMessage()));
+                    continue;
+                }
+
+                ParticipantImportRowDto rejected = checkRow(rowNumber, dto, seenEmails);
+                if (rejected != null) {
+                    outcomes.add(rejected);
+                } else {
+                    chunk.add(new PendingRow(rowNumber, dto));
+                }
+
+                if (chunk.size() >= CHUNK_SIZE) {
+                    flush(chunk, outcomes, result);
+                }
+            }
+        } catch (IOException e) {
+            if (rowNumber == 0) {
+                throw new BadRequestException("Import body must be a JSON array of participants", e);
+            }
+            result.setAborted(true);
+        }
+
+        flush(chunk, outcomes, result);
+        return result;
+    }
+
+    /**
+     * Validate a row and reject emails already seen earlier in the same import
+     *
+     * @return the rejection, or null if the row should be inserted
+     */
+    private ParticipantImportRowDto checkRow(int rowNumber, ParticipantDto dto, Set<String> seenEmails) {
+        if (dto == null) {
+            return new ParticipantImportRowDto(rowNumber, null, Outcome.INVALID, "Row must be a JSON object");
+        }
+        if (dto.getEmail() != null) {
+            dto.setEmail(dto.getEmail().strip());
+        }
+
+        Set<ConstraintViolation<ParticipantDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ParticipantImportRowDto(rowNumber, dto.getEmail(), Outcome.INVALID, message);
+        }
+
+        if (!seenEmails.add(dto.getEmail())) {
+            return new ParticipantImportRowDto(rowNumber, dto.getEmail(), Outcome.DUPLICATE_IN_BATCH,
+                    "Email appears earlier in this import");
+        }
+        return null;
+    }
+
+    /**
+     * Drop rows whose email is already stored, insert the rest and record every outcome
+     */
+    private void flush(List<PendingRow> chunk, List<ParticipantImportRowDto> outcomes,
+                       ParticipantImportResultDto result) {
+        if (!chunk.isEmpty()) {
+            Set<String> existing = new HashSet<>(participantRepository.findExistingEmails(
+                    chunk.stream().map(row -> row.dto.getEmail()).toList()));
+
+            List<PendingRow> inserts = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                if (existing.contains(row.dto.getEmail())) {
+                    outcomes.add(new ParticipantImportRowDto(row.rowNumber, row.dto.getEmail(),
+                            Outcome.ALREADY_EXISTS, "A participant with this email already exists"));
+                } else {
+                    inserts.add(row);
+                }
+            }
+
+            insert(inserts, outcomes);
+        }
+
+        outcomes.sort(Comparator.comparingInt(ParticipantImportRowDto::getRow));
+        outcomes.forEach(result::addRow);
+        chunk.clear();
+        outcomes.clear();
+    }
+
+    /**
+     * Insert the rows as one JDBC batch in a single transaction. If the batch fails,
+     * for example because a concurrent request took one of the emails, it is rolled
+     * back and the rows are retried one at a time so only the offending rows fail.
+     */
+    private void insert(List<PendingRow> rows, List<ParticipantImportRowDto> outcomes) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    rows.stream().map(row -> toParameters(row.dto, now)).toList()));
+            rows.forEach(row -> outcomes.add(created(row)));
+        } catch (DataAccessException batchFailure) {
+            for (PendingRow row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, toParameters(row.dto, now));
+                    outcomes.add(created(row));
+                } catch (DuplicateKeyException e) {
+                    outcomes.add(new ParticipantImportRowDto(row.rowNumber, row.dto.getEmail(),
+                            Outcome.ALREADY_EXISTS, "A participant with this email already exists"));
+                } catch (DataAccessException e) {
+                    outcomes.add(new ParticipantImportRowDto(row.rowNumber, row.dto.getEmail(),
+                            Outcome.FAILED, e.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tell a syntax error in the stream apart from a row that is valid JSON but cannot be bound
+     */
+    private static boolean isMalformed(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonParseException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ParticipantImportRowDto created(PendingRow row) {
+        participantService.invalidateEmailLookup(row.dto.getEmail());
+        return new ParticipantImportRowDto(row.rowNumber, row.dto.getEmail(), Outcome.CREATED, null);
+    }
+
+    private static Object[] toParameters(ParticipantDto dto, Timestamp now) {
+        ParticipantStatus status = dto.getStatus() != null ? dto.getStatus() : ParticipantStatus.ACTIVE;
+        return new Object[] {
+                dto.getFirstName(), dto.getLastName(), dto.getEmail(), dto.getPhone(), status.name(), now, now
+        };
+    }
+
+    private static final class PendingRow {
+        private final int rowNumber;
+        private final ParticipantDto dto;
+
+        private PendingRow(int rowNumber, ParticipantDto dto) {
+            this.rowNumber = rowNumber;
+            this.dto = dto;
+        }
+    }
+}
@@ -1,35 +1,75 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.service;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.CursorPageDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantDeactivationResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.*;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BusinessException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.ResourceNotFoundException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingArchiveRepository;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingRepository.StatusCount;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.CourseRepository;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.ParticipantRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.KeysetCursor;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.LruCache;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.TransactionCallbacks;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ParticipantService {
 
+    private static final int EMAIL_CACHE_SIZE = 10_000;
+    private static final Duration EMAIL_CACHE_TTL = Duration.ofMinutes(5);
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_IDS_PER_QUERY = 1000;
+    // Bookings in these statuses hold a seat on their course
+    private static final Set<BookingStatus> OPEN_BOOKING_STATUSES =
+            EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+    // Keyset position before the newest possible booking, used for the first page
+    private static final LocalDate HISTORY_START_DATE = LocalDate.of(9999, 12, 31);
+
     private final ParticipantRepository participantRepository;
     private final CourseRepository courseRepository;
     private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+
+    // Email -> private copy of the participant summary; an empty Optional caches a miss
+    private final LruCache<String, Optional<ParticipantSummaryDto>> emailLookups =
+            new LruCache<>(EMAIL_CACHE_SIZE, EMAIL_CACHE_TTL);
 
     @Autowired
     public ParticipantService(ParticipantRepository participantRepository,
                               CourseRepository courseRepository,
-                              BookingRepository bookingRepository) {
+                              BookingRepository bookingRepository,
+                              BookingArchiveRepository bookingArchiveRepository) {
         this.participantRepository = participantRepository;
         this.courseRepository = courseRepository;
         this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
     }
 
     /**
@@ -51,6 +91,7 @@ public class ParticipantService {
             participant.setStatus(ParticipantStatus.ACTIVE);
         }
 
+        invalidateEmailLookup(participant.getEmail());
         return participantRepository.save(participant);
     }
 
@@ -74,13 +115,64 @@ public class ParticipantService {
             }
         }
 
+        invalidateEmailLookup(participant.getEmail());
+        invalidateEmailLookup(participantDetails.getEmail());
+
         participant.setFirstName(participantDetails.getFirstName());
         participant.setLastName(participantDetails.getLastName());
         participant.setEmail(participantDetails.getEmail());
         participant.setPhone(participantDetails.getPhone());
+        boolean deactivating = participant.getStatus() == ParticipantStatus.ACTIVE
+                && participantDetails.getStatus() != ParticipantStatus.ACTIVE;
         participant.setStatus(participantDetails.getStatus());
 
-        return participantRepository.save(participant);
+        Participant savedParticipant = participantRepository.save(participant);
+        if (deactivating) {
+            // Free the seats the participant was holding on upcoming courses
+            bookingRepository.cancelOpenBookingsOnUpcomingCourses(List.of(id), OPEN_BOOKING_STATUSES, LocalDate.now());
+        }
+        return savedParticipant;
+    }
+
+    /**
+     * Deactivate several participants at once and cancel their open bookings on courses
+     * that have not started yet. Seats are derived from open bookings, so cancelling
+     * the bookings is what frees them.
+     *
+     * @param participantIds the IDs of the participants to deactivate
+     * @param status the new status, which must not be ACTIVE
+     * @return how many participants and bookings changed, and which IDs were not found
+     */
+    @Transactional
+    public ParticipantDeactivationResultDto deactivateParticipants(Collection<Long> participantIds,
+                                                                   ParticipantStatus status) {
+        if (status == null || status == ParticipantStatus.ACTIVE) {
+            throw new BadRequestException("Deactivation status must be one of INACTIVE, SUSPENDED or GRADUATED");
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(participantIds));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        ParticipantDeactivationResultDto result = new ParticipantDeactivationResultDto();
+
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            Set<Long> existing = new HashSet<>(participantRepository.findExistingIds(chunk));
+            chunk.stream().filter(id -> !existing.contains(id)).forEach(result.getNotFoundIds()::add);
+            if (existing.isEmpty()) {
+                continue;
+            }
+
+            result.setParticipantsUpdated(result.getParticipantsUpdated()
+                    + participantRepository.updateStatus(existing, status, now));
+            result.setBookingsCancelled(result.getBookingsCancelled()
+                    + bookingRepository.cancelOpenBookingsOnUpcomingCourses(existing, OPEN_BOOKING_STATUSES, today));
+        }
+        if (result.getParticipantsUpdated() > 0) {
+            // Cached summaries are keyed by email, which the bulk update never reads, so drop them all
+            TransactionCallbacks.afterCommit(emailLookups::clear);
+        }
+        return result;
     }
 
     /**
@@ -216,17 +308,192 @@ public class ParticipantService {
     }
 
     /**
-     * Get participant by email
+     * Get participant by email. Summaries are cached for a few minutes, so a repeat
+     * lookup does not touch the database; changes through this service evict them on commit.
      *
      * @param email the participant email
-     * @return the participant
+     * @return the participant summary
      */
     @Transactional(readOnly = true)
-    public Participant getParticipantByEmail(String email) {
-        return participantRepository.findByEmail(email)
+    public ParticipantSummaryDto getParticipantByEmail(String email) {
+        String key = normalizeEmail(email);
+        Optional<ParticipantSummaryDto> cached = emailLookups.get(key);
+        if (cached == null) {
+            long stamp = emailLookups.stamp();
+            cached = participantRepository.findByEmail(key).map(ParticipantService::toSummary);
+            emailLookups.putIfNotInvalidated(key, cached, stamp);
+        }
+        return cached.map(ParticipantService::copyOf)
                 .orElseThrow(() -> new ResourceNotFoundException("Participant not found with email: " + email));
     }
 
+    /**
+     * Get a page of a participant's bookings, newest first
+     *
+     * @param participantId the participant ID
+     * @param status the booking status to filter by, or null for all bookings
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of bookings to return
+     * @param includeArchived whether archived bookings are merged into the history
+     * @return the bookings and the cursor of the next page, if there is one
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<Booking> getBookingHistory(Long participantId, BookingStatus status, String cursor, int size,
+                                                    boolean includeArchived) {
+        int limit = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        LocalDate afterDate = HISTORY_START_DATE;
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            afterDate = position.sortKeyAsDate();
+            afterId = position.getId();
+        }
+
+        // Fetch one extra row to find out whether there is a next page
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Booking> bookings = status == null
+                ? bookingRepository.findHistoryPage(participantId, afterDate, afterId, pageable)
+                : bookingRepository.findHistoryPageByStatus(participantId, status, afterDate, afterId, pageable);
+        if (includeArchived) {
+            List<BookingArchive> archived = status == null
+                    ? bookingArchiveRepository.findHistoryPage(participantId, afterDate, afterId, pageable)
+                    : bookingArchiveRepository.findHistoryPageByStatus(participantId, status, afterDate, afterId, pageable);
+            bookings = mergeNewestFirst(bookings, archived, limit + 1);
+        }
+
+        // Only probe for the participant when the first page is empty
+        if (bookings.isEmpty() && cursor == null && !participantRepository.existsById(participantId)) {
+            throw new ResourceNotFoundException("Participant not found with id: " + participantId);
+        }
+
+        String nextCursor = null;
+        if (bookings.size() > limit) {
+            bookings = bookings.subList(0, limit);
+            Booking last = bookings.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getBookingDate().toString(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(bookings, nextCursor);
+    }
+
+    /**
+     * Count the bookings of each participant per booking status
+     *
+     * @param participantIds the participant IDs
+     * @return the counts per participant, with every status present
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<BookingStatus, Long>> getBookingCounts(Collection<Long> participantIds) {
+        Map<Long, Map<BookingStatus, Long>> counts = new HashMap<>();
+        for (Long participantId : participantIds) {
+            Map<BookingStatus, Long> statusCounts = new EnumMap<>(BookingStatus.class);
+            for (BookingStatus status : BookingStatus.values()) {
+                statusCounts.put(status, 0L);
+            }
+            counts.put(participantId, statusCounts);
+        }
+
+        List<Long> ids = new ArrayList<>(counts.keySet());
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (StatusCount row : bookingRepository.countByParticipantIdsGroupedByStatus(chunk)) {
+                counts.get(row.getParticipantId()).merge(row.getStatus(), row.getCount(), Long::sum);
+            }
+            for (StatusCount row : bookingArchiveRepository.countByParticipantIdsGroupedByStatus(chunk)) {
+                counts.get(row.getParticipantId()).merge(row.getStatus(), row.getCount(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Get all bookings of a course, oldest first
+     *
+     * @param courseId the course ID
+     * @param includeArchived whether archived bookings are included
+     * @return the bookings with their participants
+     */
+    @Transactional(readOnly = true)
+    public List<Booking> getCourseRoster(Long courseId, boolean includeArchived) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+
+        List<Booking> roster = new ArrayList<>(bookingRepository.findRoster(courseId));
+        if (includeArchived) {
+            bookingArchiveRepository.findRoster(courseId).forEach(archived -> roster.add(archived.toBooking()));
+            roster.sort(Comparator.comparing(Booking::getBookingDate).thenComparing(Booking::getId));
+        }
+        return roster;
+    }
+
+    /**
+     * Drop the cached lookup for an email, including a cached miss, once the current
+     * transaction has committed
+     *
+     * @param email the email to forget, may be null
+     */
+    public void invalidateEmailLookup(String email) {
+        if (email != null) {
+            String key = normalizeEmail(email);
+            TransactionCallbacks.afterCommit(() -> emailLookups.invalidate(key));
+        }
+    }
+
+    /**
+     * Normalize an email for lookups. Only surrounding whitespace is stripped
+     * because the unique constraint in the database is case-sensitive.
+     *
+     * @param email the raw email
+     * @return the normalized email
+     */
+    private String normalizeEmail(String email) {
+        return email == null ? null : email.strip();
+    }
+
+    private static ParticipantSummaryDto toSummary(Participant participant) {
+        ParticipantSummaryDto summary = new ParticipantSummaryDto();
+        summary.setId(participant.getId());
+        summary.setFirstName(participant.getFirstName());
+        summary.setLastName(participant.getLastName());
+        summary.setEmail(participant.getEmail());
+        summary.setStatus(participant.getStatus());
+        return summary;
+    }
+
+    /**
+     * Copy a summary, so callers cannot change the one held by the cache
+     */
+    private static ParticipantSummaryDto copyOf(ParticipantSummaryDto summary) {
+        ParticipantSummaryDto copy = new ParticipantSummaryDto();
+        copy.setId(summary.getId());
+        copy.setFirstName(summary.getFirstName());
+        copy.setLastName(summary.getLastName());
+        copy.setEmail(summary.getEmail());
+        copy.setStatus(summary.getStatus());
+        return copy;
+    }
+
+    /**
+     * Merge live and archived history pages, both sorted newest first, into one page
+     */
+    private static List<Booking> mergeNewestFirst(List<Booking> live, List<BookingArchive> archived, int limit) {
+        Comparator<Booking> newestFirst = Comparator.comparing(Booking::getBookingDate)
+                .thenComparing(Booking::getId)
+                .reversed();
+        List<Booking> old = archived.stream().map(BookingArchive::toBooking).toList();
+        List<Booking> merged = new ArrayList<>(Math.min(limit, live.size() + old.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < live.size() || j < old.size())) {
+            if (j == old.size() || (i < live.size() && newestFirst.compare(live.get(i), old.get(j)) <= 0)) {
+                merged.add(live.get(i++));
+            } else {
+                merged.add(old.get(j++));
+            }
+        }
+        return merged;
+    }
+
     /**
      * Validate booking status transitions
      *
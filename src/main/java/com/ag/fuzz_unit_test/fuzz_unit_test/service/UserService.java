@@ -1,24 +1,45 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.service;
 
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.User;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.DuplicateResourceException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.ResourceNotFoundException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.UserRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.EmailValidator;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.LruCache;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.TransactionCallbacks;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class UserService {
 
+    private static final int LOOKUP_CACHE_SIZE = 10_000;
+    private static final Duration LOOKUP_CACHE_TTL = Duration.ofMinutes(5);
+
     private final UserRepository userRepository;
+    private final OrderService orderService;
+
+    // Natural key -> private copy of the user summary; an empty Optional caches a miss
+    private final LruCache<String, Optional<UserSummaryDto>> emailLookups =
+            new LruCache<>(LOOKUP_CACHE_SIZE, LOOKUP_CACHE_TTL);
+    private final LruCache<String, Optional<UserSummaryDto>> usernameLookups =
+            new LruCache<>(LOOKUP_CACHE_SIZE, LOOKUP_CACHE_TTL);
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, OrderService orderService) {
         this.userRepository = userRepository;
+        this.orderService = orderService;
     }
 
     @Transactional(readOnly = true)
@@ -32,24 +53,58 @@ public class UserService {
                 () -> new ResourceNotFoundException("User", "id", id));
     }
 
+    /**
+     * Get a user by email. Summaries are cached for a few minutes, so a repeat lookup
+     * does not touch the database; changes through this service evict them on commit.
+     *
+     * @param email the email
+     * @return the user summary
+     */
     @Transactional(readOnly = true)
-    public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email).orElseThrow(
-                () -> new ResourceNotFoundException("User", "email", email));
+    public UserSummaryDto getUserByEmail(String email) {
+        return lookUp(emailLookups, normalizeNaturalKey(email), userRepository::findByEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
     }
 
-    @Transactional
-    public User createUser(UserDto userDto) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(userDto.getUsername())) {
-            throw new DuplicateResourceException("User", "username", userDto.getUsername());
-        }
+    /**
+     * Get a user by username, cached like {@link #getUserByEmail(String)}
+     *
+     * @param username the username
+     * @return the user summary
+     */
+    @Transactional(readOnly = true)
+    public UserSummaryDto getUserByUsername(String username) {
+        return lookUp(usernameLookups, normalizeNaturalKey(username), userRepository::findByUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
 
-        // Check if email already exists
-        if (userRepository.existsByEmail(userDto.getEmail())) {
-            throw new DuplicateResourceException("User", "email", userDto.getEmail());
+    /**
+     * Answer a natural-key lookup from the cache, or query it and cache the result,
+     * including a miss. Callers get their own copy of the cached summary.
+     */
+    private static Optional<UserSummaryDto> lookUp(LruCache<String, Optional<UserSummaryDto>> cache, String key,
+                                                   Function<String, Optional<User>> query) {
+        Optional<UserSummaryDto> cached = cache.get(key);
+        if (cached == null) {
+            long stamp = cache.stamp();
+            cached = query.apply(key).map(UserService::toSummary);
+            cache.putIfNotInvalidated(key, cached, stamp);
         }
+        return cached.map(UserService::copyOf);
+    }
+
+    private static UserSummaryDto toSummary(User user) {
+        return new UserSummaryDto(user.getId(), user.getUsername(), user.getEmail(),
+                user.getCreatedAt(), user.getUpdatedAt());
+    }
 
+    private static UserSummaryDto copyOf(UserSummaryDto summary) {
+        return new UserSummaryDto(summary.getId(), summary.getUsername(), summary.getEmail(),
+                summary.getCreatedAt(), summary.getUpdatedAt());
+    }
+
+    @Transactional
+    public User createUser(UserDto userDto) {
         // Validate email format (this is a potential target for fuzz testing)
         validateEmail(userDto.getEmail());
 
@@ -59,101 +114,121 @@ public class UserService {
         user.setEmail(userDto.getEmail());
         user.setPassword(userDto.getPassword()); // In real app, you would hash the password
 
-        return userRepository.save(user);
+        invalidateLookupsAfterCommit(user.getUsername(), user.getEmail());
+
+        // Insert first and let the unique constraints reject duplicates, so there is
+        // no window between checking and inserting
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toDuplicateResourceException(e, user);
+        }
     }
 
     @Transactional
     public User updateUser(Long id, UserDto userDto) {
         User user = getUserById(id);
 
-        // Check if new username already exists for another user
-        if (!user.getUsername().equals(userDto.getUsername()) && userRepository.existsByUsername(
-                userDto.getUsername())) {
-            throw new DuplicateResourceException("User", "username", userDto.getUsername());
-        }
-
-        // Check if new email already exists for another user
-        if (!user.getEmail().equals(userDto.getEmail()) && userRepository.existsByEmail(
-                userDto.getEmail())) {
-            throw new DuplicateResourceException("User", "email", userDto.getEmail());
-        }
-
         // Validate email format
         validateEmail(userDto.getEmail());
 
+        invalidateLookupsAfterCommit(user.getUsername(), user.getEmail());
+        invalidateLookupsAfterCommit(userDto.getUsername(), userDto.getEmail());
+
         // Update user
         user.setUsername(userDto.getUsername());
         user.setEmail(userDto.getEmail());
         user.setPassword(userDto.getPassword()); // In real app, you would hash the password
 
-        return userRepository.save(user);
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toDuplicateResourceException(e, user);
+        }
     }
 
+    /**
+     * Delete a user and all their orders with bulk DELETE statements in one transaction.
+     * The orders are never loaded as entities, so the cost does not grow with an
+     * orphan-removal cascade over the orders collection.
+     *
+     * @param id the user ID
+     */
     @Transactional
     public void deleteUser(Long id) {
         User user = getUserById(id);
-        userRepository.delete(user);
+        orderService.deleteOrdersByUser(id);
+        userRepository.deleteAllByIdIn(List.of(id));
+        invalidateLookupsAfterCommit(user.getUsername(), user.getEmail());
     }
 
     /**
-     * Validates email format.
-     * This method contains deliberate vulnerabilities for fuzz testing purposes.
+     * Translates a unique constraint violation on the users table into the
+     * matching DuplicateResourceException. Other integrity violations are
+     * rethrown unchanged.
      *
-     * @param email the email to validate
-     * @throws IllegalArgumentException if the email format is invalid
+     * @param e the violation raised by the insert or update
+     * @param user the user that was being written
+     * @return the exception to throw
      */
-    public void validateEmail(String email) {
-        if (email == null) {
-            throw new IllegalArgumentException("Email cannot be null");
-        }
-
-        if (!email.contains("@")) {
-            throw new IllegalArgumentException("Email must contain @");
-        }
-
-        String[] parts = email.split("@");
-        if (parts.length != 2) {
-            throw new IllegalArgumentException("Email must contain exactly one @");
-        }
-
-        String localPart = parts[0];
-        String domainPart = parts[1];
-
-        if (localPart.isEmpty()) {
-            throw new IllegalArgumentException("Local part of email cannot be empty");
+    private RuntimeException toDuplicateResourceException(DataIntegrityViolationException e, User user) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : e.getMostSpecificCause().getMessage();
+        // Some databases report the name qualified or with a suffix, e.g. PUBLIC.UK_USERS_EMAIL_INDEX_4
+        String normalized = constraint == null ? "" : constraint.toLowerCase(Locale.ROOT);
+
+        if (normalized.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateResourceException("User", "username", user.getUsername());
         }
-
-        if (domainPart.isEmpty()) {
-            throw new IllegalArgumentException("Domain part of email cannot be empty");
-        }
-
-        if (!domainPart.contains(".")) {
-            throw new IllegalArgumentException("Domain part must contain a dot");
-        }
-
-        // More complex validation that could have edge cases
-        if (email.length() > 254) {
-            throw new IllegalArgumentException("Email is too long");
-        }
-
-        // Check for illegal characters (simplified)
-        if (email.contains(" ")) {
-            throw new IllegalArgumentException("Email cannot contain spaces");
+        if (normalized.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateResourceException("User", "email", user.getEmail());
         }
+        return e;
+    }
 
-        // Additional validation that could introduce subtle bugs
-        if (domainPart.startsWith(".") || domainPart.endsWith(".")) {
-            throw new IllegalArgumentException("Domain part cannot start or end with a dot");
-        }
+    /**
+     * Drops cached lookups for the given natural keys, including cached misses, once
+     * the current transaction has committed. Evicting earlier would let a concurrent
+     * lookup re-cache the old row before the change becomes visible.
+     *
+     * @param username the username to forget, may be null
+     * @param email the email to forget, may be null
+     */
+    private void invalidateLookupsAfterCommit(String username, String email) {
+        String usernameKey = normalizeNaturalKey(username);
+        String emailKey = normalizeNaturalKey(email);
+        TransactionCallbacks.afterCommit(() -> {
+            if (usernameKey != null) {
+                usernameLookups.invalidate(usernameKey);
+            }
+            if (emailKey != null) {
+                emailLookups.invalidate(emailKey);
+            }
+        });
+    }
 
-        if (localPart.startsWith(".") || localPart.endsWith(".")) {
-            throw new IllegalArgumentException("Local part cannot start or end with a dot");
-        }
+    /**
+     * Normalizes a natural key for lookups. Only surrounding whitespace is
+     * stripped because the unique constraints in the database are case-sensitive.
+     *
+     * @param value the raw key
+     * @return the normalized key
+     */
+    private String normalizeNaturalKey(String value) {
+        return value == null ? null : value.strip();
+    }
 
-        // This is a deliberate bug for fuzz testing to find
-        // It will incorrectly reject emails with certain TLDs
-        if (domainPart.endsWith(".test") || domainPart.endsWith(".example")) {
-            throw new IllegalArgumentException("Invalid TLD");
-        }
+    /**
+     * Validates email format.
+     * This method contains deliberate vulnerabilities for fuzz testing purposes.
+     *
+     * @param email the email to validate
+     * @throws IllegalArgumentException if the email format is invalid
+     * @see EmailValidator
+     */
+    public void validateEmail(String email) {
+        EmailValidator.validate(email);
     }
 }
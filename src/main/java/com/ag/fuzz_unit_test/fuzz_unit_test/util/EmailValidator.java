@@ -0,0 +1,141 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+/**
+ * Single-pass email format check used for user emails.
+ * <p>
+ * It accepts and rejects exactly the same strings, with the same messages, as the
+ * original check built on {@code contains}, {@code split("@")}, {@code startsWith}
+ * and {@code endsWith}. It gets there with one scan over the string and no
+ * allocation unless it has to throw. That includes the quirks of the original:
+ * <ul>
+ *     <li>trailing {@code @} characters are ignored when splitting, because
+ *     {@code split} drops trailing empty strings, so {@code "a@b.com@"} is accepted</li>
+ *     <li>the length and space checks look at the whole string, including those
+ *     trailing {@code @} characters</li>
+ *     <li>domains ending in {@code .test} or {@code .example} are rejected</li>
+ * </ul>
+ */
+public final class EmailValidator {
+
+    public static final String NULL_EMAIL = "Email cannot be null";
+    public static final String MISSING_AT = "Email must contain @";
+    public static final String NOT_ONE_AT = "Email must contain exactly one @";
+    public static final String EMPTY_LOCAL_PART = "Local part of email cannot be empty";
+    public static final String EMPTY_DOMAIN_PART = "Domain part of email cannot be empty";
+    public static final String DOMAIN_WITHOUT_DOT = "Domain part must contain a dot";
+    public static final String TOO_LONG = "Email is too long";
+    public static final String CONTAINS_SPACE = "Email cannot contain spaces";
+    public static final String DOMAIN_DOT_AT_EDGE = "Domain part cannot start or end with a dot";
+    public static final String LOCAL_DOT_AT_EDGE = "Local part cannot start or end with a dot";
+    public static final String INVALID_TLD = "Invalid TLD";
+
+    private static final int MAX_LENGTH = 254;
+    private static final String[] REJECTED_TLDS = {".test", ".example"};
+
+    private EmailValidator() {
+    }
+
+    /**
+     * Validate an email address
+     *
+     * @param email the email to validate
+     * @throws IllegalArgumentException if the email format is invalid
+     */
+    public static void validate(String email) {
+        String error = check(email);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    /**
+     * Check an email address without throwing
+     *
+     * @param email the email to check
+     * @return true if {@link #validate(String)} would accept it
+     */
+    public static boolean isValid(String email) {
+        return check(email) == null;
+    }
+
+    /**
+     * Find the first rule the email breaks, in the order the original check applied them
+     *
+     * @param email the email to check
+     * @return the error message, or null if the email is valid
+     */
+    public static String check(String email) {
+        if (email == null) {
+            return NULL_EMAIL;
+        }
+
+        int length = email.length();
+        int firstAt = -1;
+        int atCount = 0;
+        // Position of the last character that is not '@', and how many '@' precede it.
+        // Any '@' after it form the trailing run that split("@") discards.
+        int lastNonAt = -1;
+        int atsBeforeLastNonAt = 0;
+        int lastDot = -1;
+        boolean hasSpace = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (firstAt < 0) {
+                    firstAt = i;
+                }
+                atCount++;
+                continue;
+            }
+            lastNonAt = i;
+            atsBeforeLastNonAt = atCount;
+            if (c == '.') {
+                lastDot = i;
+            } else if (c == ' ') {
+                hasSpace = true;
+            }
+        }
+
+        if (atCount == 0) {
+            return MISSING_AT;
+        }
+        // split("@") yields atsBeforeLastNonAt + 1 parts, or none if the string is all '@'
+        if (lastNonAt < 0 || atsBeforeLastNonAt != 1) {
+            return NOT_ONE_AT;
+        }
+
+        // Local part is [0, firstAt), domain part is [firstAt + 1, domainEnd)
+        int domainStart = firstAt + 1;
+        int domainEnd = lastNonAt + 1;
+
+        if (firstAt == 0) {
+            return EMPTY_LOCAL_PART;
+        }
+        if (domainEnd <= domainStart) {
+            return EMPTY_DOMAIN_PART;
+        }
+        if (lastDot < domainStart) {
+            return DOMAIN_WITHOUT_DOT;
+        }
+        if (length > MAX_LENGTH) {
+            return TOO_LONG;
+        }
+        if (hasSpace) {
+            return CONTAINS_SPACE;
+        }
+        if (email.charAt(domainStart) == '.' || email.charAt(domainEnd - 1) == '.') {
+            return DOMAIN_DOT_AT_EDGE;
+        }
+        if (email.charAt(0) == '.' || email.charAt(firstAt - 1) == '.') {
+            return LOCAL_DOT_AT_EDGE;
+        }
+        for (String tld : REJECTED_TLDS) {
+            int tldStart = domainEnd - tld.length();
+            if (tldStart >= domainStart && email.startsWith(tld, tldStart)) {
+                return INVALID_TLD;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import java.util.Arrays;
+
+/**
+ * Finds where the elements of a top-level JSON array start and end without parsing
+ * them. One pass over the bytes tracks nesting depth and whether the scan is inside a
+ * string, skipping escaped characters, so commas and brackets inside strings and
+ * nested values are not taken for element boundaries. UTF-8 continuation bytes never
+ * look like ASCII, so the scan works on encoded bytes directly.
+ * <p>
+ * The scan does not validate the elements; that is left to whoever parses them.
+ */
+final class JsonArraySplitter {
+
+    private static final int UTF8_BOM_LENGTH = 3;
+
+    private JsonArraySplitter() {
+    }
+
+    /**
+     * Split a UTF-8 encoded top-level array into its elements
+     *
+     * @param json the encoded document
+     * @return the start and end (exclusive) of each element, in pairs, with surrounding
+     * whitespace trimmed; or null if the document does not look like a single array
+     */
+    static int[] split(byte[] json) {
+        int position = skipWhitespace(json, hasBom(json) ? UTF8_BOM_LENGTH : 0);
+        if (position >= json.length || json[position] != '[') {
+            return null;
+        }
+        int[] bounds = new int[16];
+        int count = 0;
+        int depth = 0;
+        int elementStart = position + 1;
+        boolean inString = false;
+
+        for (position++; position < json.length; position++) {
+            byte b = json[position];
+            if (inString) {
+                if (b == '\\') {
+                    position++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}' -> {
+                    if (--depth < 0) {
+                        return null;
+                    }
+                }
+                case ']' -> {
+                    if (depth-- == 0) {
+                        if (count > 0 || !isBlank(json, elementStart, position)) {
+                            bounds = add(bounds, count++, json, elementStart, position);
+                        }
+                        return Arrays.copyOf(bounds, count * 2);
+                    }
+                }
+                case ',' -> {
+                    if (depth == 0) {
+                        bounds = add(bounds, count++, json, elementStart, position);
+                        elementStart = position + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        // The array is never closed
+        return null;
+    }
+
+    private static int[] add(int[] bounds, int index, byte[] json, int start, int end) {
+        if (index * 2 + 1 >= bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        start = skipWhitespace(json, start);
+        while (end > start && isWhitespace(json[end - 1])) {
+            end--;
+        }
+        bounds[index * 2] = start;
+        bounds[index * 2 + 1] = end;
+        return bounds;
+    }
+
+    private static boolean hasBom(byte[] json) {
+        return json.length >= UTF8_BOM_LENGTH
+                && json[0] == (byte) 0xEF && json[1] == (byte) 0xBB && json[2] == (byte) 0xBF;
+    }
+
+    private static boolean isBlank(byte[] json, int start, int end) {
+        return skipWhitespace(json, start) >= end;
+    }
+
+    private static int skipWhitespace(byte[] json, int position) {
+        while (position < json.length && isWhitespace(json[position])) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+}
@@ -0,0 +1,246 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Parses a UTF-8 encoded body while it is still arriving. The caller feeds chunks as
+ * they come off the network; each call parses as far as the bytes fed so far allow and
+ * returns the root-level values completed by that chunk. Several values may follow
+ * each other, separated by whitespace.
+ * <p>
+ * The limits apply to the whole session: the input length and token count add up over
+ * all chunks, and a violation fails the session with a {@link JsonLimitExceededException}.
+ * Once a call has thrown, the session is closed. Sessions are opened by
+ * {@link JsonParser#openFeedSession(ParseLimits)} and are not thread-safe.
+ */
+public final class JsonFeedSession implements AutoCloseable {
+
+    /**
+     * Reports a limit violation to the parser that opened the session
+     */
+    interface LimitReporter {
+        JsonLimitExceededException exceeded(ParseLimits.Limit limit, String message, Throwable cause);
+    }
+
+    private final com.fasterxml.jackson.core.JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ParseLimits limits;
+    private final LimitReporter reporter;
+    private final JsonNodeFactory nodeFactory;
+    private final boolean floatsAsDecimals;
+
+    // The containers of the value being built, innermost first
+    private final Deque<ContainerNode<?>> open = new ArrayDeque<>();
+    private final Deque<String> fieldNames = new ArrayDeque<>();
+    private long bytesFed;
+    private long tokens;
+    private boolean closed;
+
+    JsonFeedSession(ObjectMapper objectMapper, JsonFactory factory, ParseLimits limits, LimitReporter reporter)
+            throws IOException {
+        this.parser = factory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.limits = limits;
+        this.reporter = reporter;
+        this.nodeFactory = objectMapper.getNodeFactory();
+        this.floatsAsDecimals = objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    /**
+     * Feed the next chunk of the body
+     *
+     * @param chunk the bytes that arrived
+     * @return the root-level values completed by this chunk, in input order
+     * @throws JsonLimitExceededException if the input so far exceeds one of the limits
+     * @throws IOException if the input so far is not valid JSON
+     * @see #feed(byte[], int, int)
+     */
+    public List<JsonNode> feed(byte[] chunk) throws IOException {
+        return feed(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Feed the next chunk of the body. The chunk is parsed before this method returns,
+     * so the caller may reuse the array for the next read.
+     *
+     * @param chunk the array holding the bytes that arrived
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the root-level values completed by this chunk, in input order
+     * @throws JsonLimitExceededException if the input so far exceeds one of the limits
+     * @throws IOException if the input so far is not valid JSON
+     */
+    public List<JsonNode> feed(byte[] chunk, int offset, int length) throws IOException {
+        checkOpen();
+        bytesFed += length;
+        if (bytesFed > limits.getMaxInputLength()) {
+            throw fail(reporter.exceeded(ParseLimits.Limit.INPUT_LENGTH,
+                    "Input length exceeds the maximum length (" + limits.getMaxInputLength() + ")", null));
+        }
+        feeder.feedInput(chunk, offset, offset + length);
+        return drain();
+    }
+
+    /**
+     * Signal the end of the body and close the session
+     *
+     * @return the values completed by the end of the input, such as a number at the very end
+     * @throws IOException if the body ends in the middle of a value
+     */
+    public List<JsonNode> finish() throws IOException {
+        checkOpen();
+        feeder.endOfInput();
+        List<JsonNode> values = drain();
+        if (!open.isEmpty()) {
+            throw fail(new JsonParseException(parser, "Unexpected end of input inside a value"));
+        }
+        close();
+        return values;
+    }
+
+    /**
+     * @return the number of bytes fed so far
+     */
+    public long getBytesFed() {
+        return bytesFed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            parser.close();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Feed session is closed");
+        }
+    }
+
+    /**
+     * Consume every token the input fed so far makes available
+     */
+    private List<JsonNode> drain() throws IOException {
+        List<JsonNode> completed = new ArrayList<>();
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                JsonNode value = accept(token);
+                if (value != null) {
+                    completed.add(value);
+                }
+            }
+        } catch (StreamConstraintsException e) {
+            throw fail(reporter.exceeded(JsonParser.limitOf(e), e.getOriginalMessage(), e));
+        } catch (IOException e) {
+            throw fail(e);
+        }
+        return completed;
+    }
+
+    /**
+     * Add a token to the value being built
+     *
+     * @return the value, if the token completes a root-level value
+     */
+    private JsonNode accept(JsonToken token) throws IOException {
+        if (++tokens > limits.getMaxTokens()) {
+            throw reporter.exceeded(ParseLimits.Limit.TOKEN_COUNT,
+                    "Token count exceeds the maximum (" + limits.getMaxTokens() + ")", null);
+        }
+        switch (token) {
+            case FIELD_NAME -> {
+                String name = parser.currentName();
+                if (name.length() > limits.getMaxStringLength()) {
+                    throw reporter.exceeded(ParseLimits.Limit.STRING_LENGTH, "Field name length (" + name.length()
+                            + ") exceeds the maximum length (" + limits.getMaxStringLength() + ")", null);
+                }
+                fieldNames.push(name);
+                return null;
+            }
+            case START_OBJECT -> {
+                open.push(nodeFactory.objectNode());
+                return null;
+            }
+            case START_ARRAY -> {
+                open.push(nodeFactory.arrayNode());
+                return null;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                return add(open.pop());
+            }
+            default -> {
+                return add(scalar(token));
+            }
+        }
+    }
+
+    private JsonNode add(JsonNode value) {
+        ContainerNode<?> parent = open.peek();
+        if (parent == null) {
+            return value;
+        }
+        if (parent instanceof ObjectNode object) {
+            object.set(fieldNames.pop(), value);
+        } else {
+            ((ArrayNode) parent).add(value);
+        }
+        return null;
+    }
+
+    private JsonNode scalar(JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> nodeFactory.textNode(parser.getText());
+            case VALUE_TRUE -> nodeFactory.booleanNode(true);
+            case VALUE_FALSE -> nodeFactory.booleanNode(false);
+            case VALUE_NULL -> nodeFactory.nullNode();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> number(token);
+            default -> throw new JsonParseException(parser, "Unexpected token " + token);
+        };
+    }
+
+    /**
+     * Build a number node of the same type a tree read by the mapper would hold
+     */
+    private JsonNode number(JsonToken token) throws IOException {
+        // The non-blocking parser does not check number lengths itself
+        if (parser.getTextLength() > limits.getMaxNumberLength()) {
+            throw reporter.exceeded(ParseLimits.Limit.NUMBER_LENGTH, "Number value length (" + parser.getTextLength()
+                    + ") exceeds the maximum length (" + limits.getMaxNumberLength() + ")", null);
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return floatsAsDecimals
+                    ? nodeFactory.numberNode(parser.getDecimalValue())
+                    : nodeFactory.numberNode(parser.getDoubleValue());
+        }
+        return switch (parser.getNumberType()) {
+            case INT -> nodeFactory.numberNode(parser.getIntValue());
+            case LONG -> nodeFactory.numberNode(parser.getLongValue());
+            default -> nodeFactory.numberNode(parser.getBigIntegerValue());
+        };
+    }
+
+    private <E extends IOException> E fail(E e) throws IOException {
+        close();
+        return e;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Thrown when a document exceeds one of the {@link ParseLimits} it is parsed with.
+ * It is a {@link JsonProcessingException}, so callers that already reject invalid
+ * JSON reject oversized JSON the same way.
+ */
+public class JsonLimitExceededException extends JsonProcessingException {
+
+    private final ParseLimits.Limit limit;
+
+    public JsonLimitExceededException(ParseLimits.Limit limit, String message) {
+        super(message);
+        this.limit = limit;
+    }
+
+    public JsonLimitExceededException(ParseLimits.Limit limit, String message, Throwable cause) {
+        super(message, cause);
+        this.limit = limit;
+    }
+
+    public ParseLimits.Limit getLimit() {
+        return limit;
+    }
+}
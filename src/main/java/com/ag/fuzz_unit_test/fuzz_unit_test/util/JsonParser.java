@@ -1,10 +1,47 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import org.springframework.stereotype.Component;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A utility class for parsing and processing JSON strings.
  * This class is intentionally vulnerable to certain edge cases
@@ -13,10 +50,20 @@ import org.springframework.stereotype.Component;
 @Component
 public class JsonParser {
 
+    private static final int PATH_CACHE_SIZE = 1024;
+    private static final int LIMITED_FACTORY_CACHE_SIZE = 16;
+
     private final ObjectMapper objectMapper;
+    private final LruCache<String, JsonPath> compiledPaths = new LruCache<>(PATH_CACHE_SIZE);
+    // Parser factories carrying the Jackson read constraints of a ParseLimits
+    private final LruCache<ParseLimits, JsonFactory> limitedFactories = new LruCache<>(LIMITED_FACTORY_CACHE_SIZE);
+    private final Map<ParseLimits.Limit, LongAdder> limitViolations = new EnumMap<>(ParseLimits.Limit.class);
 
     public JsonParser(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        for (ParseLimits.Limit limit : ParseLimits.Limit.values()) {
+            limitViolations.put(limit, new LongAdder());
+        }
     }
 
     /**
@@ -25,6 +72,7 @@ public class JsonParser {
      * @param json The JSON string to parse
      * @return A JsonNode representing the parsed JSON
      * @throws JsonProcessingException If the input is not valid JSON
+     * @see #parse(String, ParseLimits)
      */
     public JsonNode parse(String json) throws JsonProcessingException {
         // Deliberately vulnerable implementation:
@@ -33,51 +81,1283 @@ public class JsonParser {
         return objectMapper.readTree(json);
     }
 
+    /**
+     * Parses a UTF-8 (or UTF-16/32, detected from the first bytes) encoded document
+     * into a JsonNode. The bytes are fed to Jackson's byte-based parser directly,
+     * without decoding them to a String first.
+     *
+     * @param json The encoded JSON document
+     * @return A JsonNode representing the parsed JSON
+     * @throws IOException If the input is not valid JSON
+     */
+    public JsonNode parse(byte[] json) throws IOException {
+        return objectMapper.readTree(json);
+    }
+
+    /**
+     * Parses a slice of a byte array into a JsonNode.
+     *
+     * @param json The array holding the encoded JSON document
+     * @param offset The index of the first byte of the document
+     * @param length The length of the document in bytes
+     * @return A JsonNode representing the parsed JSON
+     * @throws IOException If the input is not valid JSON
+     * @see #parse(byte[])
+     */
+    public JsonNode parse(byte[] json, int offset, int length) throws IOException {
+        return objectMapper.readTree(json, offset, length);
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer into a JsonNode. A heap buffer is parsed
+     * from its backing array in place; a direct or memory-mapped buffer is read in
+     * small chunks, so the document is never copied as a whole. The buffer's position
+     * is left unchanged.
+     *
+     * @param json The buffer holding the encoded JSON document between its position and limit
+     * @return A JsonNode representing the parsed JSON
+     * @throws IOException If the input is not valid JSON
+     * @see #parse(byte[])
+     */
+    public JsonNode parse(ByteBuffer json) throws IOException {
+        if (json.hasArray()) {
+            return objectMapper.readTree(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        return objectMapper.readTree(new ByteBufferBackedInputStream(json.duplicate()));
+    }
+
+    /**
+     * Parses a JSON document from a stream into a JsonNode, reading it as bytes.
+     *
+     * @param json The JSON document; it is closed when this method returns
+     * @return A JsonNode representing the parsed JSON
+     * @throws IOException If the input cannot be read or is not valid JSON
+     */
+    public JsonNode parse(InputStream json) throws IOException {
+        return objectMapper.readTree(json);
+    }
+
+    /**
+     * Parses a JSON file into a JsonNode by mapping it into memory, so the file is
+     * read through the page cache rather than copied onto the heap.
+     *
+     * @param file The JSON file; at most 2 GiB
+     * @return A JsonNode representing the parsed JSON
+     * @throws IOException If the file cannot be read or is not valid JSON
+     */
+    public JsonNode parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(mapped);
+        }
+    }
+
+    /**
+     * Parses a JSON string into a JsonNode within resource limits. The input length is
+     * checked up front; depth, string and number lengths and the token count are checked
+     * as the input is read, so the work done on a hostile document is bounded by the limits.
+     *
+     * @param json The JSON string to parse
+     * @param limits The limits to enforce; the input length is counted in chars
+     * @return A JsonNode representing the parsed JSON
+     * @throws JsonLimitExceededException If the input exceeds one of the limits
+     * @throws JsonProcessingException If the input is not valid JSON
+     */
+    public JsonNode parse(String json, ParseLimits limits) throws JsonProcessingException {
+        checkInputLength(json.length(), limits);
+        try {
+            return readTree(factoryFor(limits).createParser(json), limits);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            // Cannot happen when reading from a String
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * Parses a JSON document from a stream into a JsonNode within resource limits.
+     * Reading stops as soon as a limit is exceeded, including the input length, so the
+     * stream is never read further than the limit.
+     *
+     * @param json The JSON document; it is closed when this method returns
+     * @param limits The limits to enforce; the input length is counted in bytes
+     * @return A JsonNode representing the parsed JSON
+     * @throws JsonLimitExceededException If the input exceeds one of the limits
+     * @throws IOException If the input cannot be read or is not valid JSON
+     */
+    public JsonNode parse(InputStream json, ParseLimits limits) throws IOException {
+        return readTree(factoryFor(limits).createParser(new LimitedInputStream(json, limits.getMaxInputLength())),
+                limits);
+    }
+
+    /**
+     * Parses an encoded document into a JsonNode within resource limits, without
+     * decoding it to a String first.
+     *
+     * @param json The encoded JSON document
+     * @param limits The limits to enforce; the input length is counted in bytes
+     * @return A JsonNode representing the parsed JSON
+     * @throws JsonLimitExceededException If the input exceeds one of the limits
+     * @throws IOException If the input is not valid JSON
+     */
+    public JsonNode parse(byte[] json, ParseLimits limits) throws IOException {
+        checkInputLength(json.length, limits);
+        return readTree(factoryFor(limits).createParser(json), limits);
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer into a JsonNode within resource limits.
+     * The buffer's position is left unchanged.
+     *
+     * @param json The buffer holding the encoded JSON document between its position and limit
+     * @param limits The limits to enforce; the input length is counted in bytes
+     * @return A JsonNode representing the parsed JSON
+     * @throws JsonLimitExceededException If the input exceeds one of the limits
+     * @throws IOException If the input is not valid JSON
+     * @see #parse(ByteBuffer)
+     */
+    public JsonNode parse(ByteBuffer json, ParseLimits limits) throws IOException {
+        checkInputLength(json.remaining(), limits);
+        JsonFactory factory = factoryFor(limits);
+        if (json.hasArray()) {
+            return readTree(factory.createParser(json.array(), json.arrayOffset() + json.position(), json.remaining()),
+                    limits);
+        }
+        return readTree(factory.createParser(new ByteBufferBackedInputStream(json.duplicate())), limits);
+    }
+
+    /**
+     * Parses newline-delimited JSON one record at a time. Only one line is buffered at
+     * a time, so streams of any size can be processed. Every non-blank line is parsed
+     * on its own within the limits, which apply per line: a line that is malformed or
+     * too large becomes a record with an error, and parsing continues with the next line.
+     * <p>
+     * Closing the returned stream closes the input.
+     *
+     * @param json The newline-delimited JSON input
+     * @param limits The limits to enforce on each line; the input length bounds the line length
+     * @return The records, in input order
+     */
+    public Stream<JsonRecord> parseStream(InputStream json, ParseLimits limits) {
+        return parseStream(json, limits, null, 1);
+    }
+
+    /**
+     * Parses newline-delimited JSON from a channel one record at a time.
+     *
+     * @param json The newline-delimited JSON input
+     * @param limits The limits to enforce on each line; the input length bounds the line length
+     * @return The records, in input order
+     * @see #parseStream(InputStream, ParseLimits)
+     */
+    public Stream<JsonRecord> parseStream(ReadableByteChannel json, ParseLimits limits) {
+        return parseStream(Channels.newInputStream(json), limits);
+    }
+
+    /**
+     * Parses newline-delimited JSON, decoding lines in parallel while keeping their order.
+     * Reading runs at most {@code window} lines ahead of the record being consumed, so a
+     * slow consumer holds back the reader and buffered memory stays bounded by
+     * {@code window} lines.
+     *
+     * @param json The newline-delimited JSON input
+     * @param limits The limits to enforce on each line; the input length bounds the line length
+     * @param executor The executor to decode lines on, or null to decode on the consuming thread
+     * @param window The maximum number of lines decoded ahead of the consumer
+     * @return The records, in input order
+     * @see #parseStream(InputStream, ParseLimits)
+     */
+    public Stream<JsonRecord> parseStream(InputStream json, ParseLimits limits, Executor executor, int window) {
+        JsonFactory factory = factoryFor(limits);
+        NdjsonRecordIterator records = new NdjsonRecordIterator(json, limits.getMaxInputLength(),
+                new NdjsonRecordIterator.RecordDecoder() {
+                    @Override
+                    public JsonRecord decode(long lineNumber, byte[] line, int length) {
+                        return decodeRecord(factory, limits, lineNumber, line, length);
+                    }
+
+                    @Override
+                    public JsonRecord oversized(long lineNumber) {
+                        return JsonRecord.failed(lineNumber, limitExceeded(ParseLimits.Limit.INPUT_LENGTH,
+                                "Record length exceeds the maximum length (" + limits.getMaxInputLength() + ")",
+                                null));
+                    }
+                }, executor, window);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(records::close);
+    }
+
+    private JsonRecord decodeRecord(JsonFactory factory, ParseLimits limits, long lineNumber, byte[] line,
+                                    int length) {
+        try {
+            return JsonRecord.of(lineNumber, readTree(factory.createParser(line, 0, length), limits, true));
+        } catch (JsonProcessingException e) {
+            return JsonRecord.failed(lineNumber, e);
+        } catch (IOException e) {
+            // Cannot happen when reading from a byte array
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a session that parses a UTF-8 encoded body while it is still arriving, so
+     * parsing overlaps the transfer instead of waiting for the whole body. The caller
+     * feeds chunks as they are read and gets back the values each chunk completes.
+     * Depth, string and number lengths, the token count and the input length are
+     * enforced over the whole session, as {@link #parse(InputStream, ParseLimits)} does.
+     *
+     * @param limits The limits to enforce; the input length is counted in bytes
+     * @return The session; close it if the body is abandoned before {@link JsonFeedSession#finish()}
+     * @throws IOException If the parser cannot be created
+     */
+    public JsonFeedSession openFeedSession(ParseLimits limits) throws IOException {
+        return new JsonFeedSession(objectMapper, factoryFor(limits), limits, this::limitExceeded);
+    }
+
+    /**
+     * Parses a UTF-8 encoded document whose top level is an array on the common pool,
+     * several elements at a time.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @return A JsonNode representing the parsed JSON
+     * @throws IOException If the input is not valid JSON
+     * @see #parseArrayParallel(byte[], ForkJoinPool)
+     */
+    public JsonNode parseArrayParallel(byte[] json) throws IOException {
+        return parseArrayParallel(json, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses a UTF-8 encoded document whose top level is an array, several elements at
+     * a time. One quick pass finds where each element starts and ends; the elements are
+     * then parsed in chunks on the pool and put back together in input order.
+     * <p>
+     * The result is the same as {@link #parse(byte[])}, which is also what any other
+     * document, and any document with an error, falls back to, so errors are reported
+     * the same way too.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param pool The pool to parse the elements on
+     * @return A JsonNode representing the parsed JSON
+     * @throws IOException If the input is not valid JSON
+     */
+    public JsonNode parseArrayParallel(byte[] json, ForkJoinPool pool) throws IOException {
+        int[] bounds = JsonArraySplitter.split(json);
+        if (bounds == null) {
+            return parse(json);
+        }
+        JsonNode[] elements = new JsonNode[bounds.length / 2];
+        try {
+            pool.invoke(new ParseElements(json, bounds, elements, 0, elements.length));
+        } catch (UncheckedIOException e) {
+            // Parse the document as a whole, so the error is reported with its position in it
+            return parse(json);
+        }
+        ArrayNode array = objectMapper.getNodeFactory().arrayNode(elements.length);
+        for (JsonNode element : elements) {
+            array.add(element);
+        }
+        return array;
+    }
+
+    /**
+     * Returns how many documents have exceeded a limit since this parser was created.
+     *
+     * @param limit The kind of limit
+     * @return The number of documents rejected for that limit
+     */
+    public long getLimitViolations(ParseLimits.Limit limit) {
+        return limitViolations.get(limit).sum();
+    }
+
+    private JsonNode readTree(com.fasterxml.jackson.core.JsonParser source, ParseLimits limits) throws IOException {
+        return readTree(source, limits, false);
+    }
+
+    /**
+     * @param singleValue whether anything but whitespace after the first value is an error
+     */
+    private JsonNode readTree(com.fasterxml.jackson.core.JsonParser source, ParseLimits limits, boolean singleValue)
+            throws IOException {
+        try (com.fasterxml.jackson.core.JsonParser parser = new LimitedParser(source, limits)) {
+            JsonNode node = objectMapper.readTree(parser);
+            if (singleValue && node != null && parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Unexpected content after the first value");
+            }
+            // Match readTree(String), which returns a missing node for empty input
+            return node != null ? node : MissingNode.getInstance();
+        } catch (StreamConstraintsException e) {
+            throw limitExceeded(limitOf(e), e.getOriginalMessage(), e);
+        }
+    }
+
+    private void checkInputLength(long length, ParseLimits limits) throws JsonLimitExceededException {
+        if (length > limits.getMaxInputLength()) {
+            throw limitExceeded(ParseLimits.Limit.INPUT_LENGTH, "Input length (" + length
+                    + ") exceeds the maximum length (" + limits.getMaxInputLength() + ")", null);
+        }
+    }
+
+    private JsonFactory factoryFor(ParseLimits limits) {
+        JsonFactory factory = limitedFactories.get(limits);
+        if (factory == null) {
+            factory = objectMapper.getFactory().copy().setStreamReadConstraints(StreamReadConstraints.builder()
+                    .maxNestingDepth(limits.getMaxDepth())
+                    .maxStringLength(limits.getMaxStringLength())
+                    .maxNumberLength(limits.getMaxNumberLength())
+                    .build());
+            limitedFactories.put(limits, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * Tell which limit a Jackson read constraint violation corresponds to. Jackson
+     * reports all of them with the same exception type, so this goes by the message.
+     */
+    static ParseLimits.Limit limitOf(StreamConstraintsException e) {
+        String message = String.valueOf(e.getOriginalMessage());
+        if (message.startsWith("Depth")) {
+            return ParseLimits.Limit.NESTING_DEPTH;
+        }
+        if (message.startsWith("String")) {
+            return ParseLimits.Limit.STRING_LENGTH;
+        }
+        return ParseLimits.Limit.NUMBER_LENGTH;
+    }
+
+    private JsonLimitExceededException limitExceeded(ParseLimits.Limit limit, String message, Throwable cause) {
+        limitViolations.get(limit).increment();
+        return new JsonLimitExceededException(limit, message, cause);
+    }
+
+    /**
+     * Compiles a path, or returns the compiled path from the cache if it was used recently.
+     *
+     * @param path The path (format: "field1.field2[0].field3")
+     * @return The compiled path
+     * @throws JsonPathException If the path is empty or malformed
+     */
+    public JsonPath compilePath(String path) {
+        JsonPath compiled = compiledPaths.get(path);
+        if (compiled == null) {
+            compiled = JsonPath.compile(path);
+            compiledPaths.put(path, compiled);
+        }
+        return compiled;
+    }
+
     /**
      * Extracts a value from a JSON node by path.
-     * This method is intentionally vulnerable to certain paths.
      *
      * @param node The JsonNode to extract from
      * @param path The path to the value (format: "field1.field2[0].field3")
      * @return The extracted value as a String, or null if not found
+     * @throws JsonPathException If the path is malformed
      */
     public String extractValue(JsonNode node, String path) {
         if (node == null || path == null || path.isEmpty()) {
             return null;
         }
+        return extractValue(node, compilePath(path));
+    }
+
+    /**
+     * Extracts a value from a JSON node by a compiled path.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The compiled path to the value
+     * @return The extracted value as a String, or null if not found
+     */
+    public String extractValue(JsonNode node, JsonPath path) {
+        if (node == null) {
+            return null;
+        }
+        JsonNode value = path.evaluate(node);
+        return value != null ? value.asText() : null;
+    }
+
+    /**
+     * Extracts a value by path straight from the token stream, without building a tree.
+     * Subtrees that are not on the path are skipped, and reading stops as soon as the
+     * path resolves, so memory use does not grow with the size of the document.
+     * <p>
+     * The result is the same as {@code extractValue(parse(json), path)} with two
+     * exceptions: when a field name repeats, the first occurrence wins where the tree
+     * keeps the last, and syntax errors after the resolved value go unnoticed.
+     *
+     * @param json The JSON document; it is closed when this method returns
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The extracted value as a String, or null if not found
+     * @throws IOException If the input cannot be read or is not valid JSON up to the value
+     * @throws JsonPathException If the path is malformed
+     */
+    public String extractValue(InputStream json, String path) throws IOException {
+        if (json == null || path == null || path.isEmpty()) {
+            return null;
+        }
+        return extractValue(json, compilePath(path));
+    }
 
-        // Deliberate bug: not validating path structure properly
-        String[] parts = path.split("\\.");
-        JsonNode current = node;
+    /**
+     * Extracts a value by a compiled path straight from the token stream.
+     *
+     * @param json The JSON document; it is closed when this method returns
+     * @param path The compiled path to the value
+     * @return The extracted value as a String, or null if not found
+     * @throws IOException If the input cannot be read or is not valid JSON up to the value
+     * @see #extractValue(InputStream, String)
+     */
+    public String extractValue(InputStream json, JsonPath path) throws IOException {
+        if (json == null) {
+            return null;
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return extractValue(parser, path);
+        }
+    }
+
+    /**
+     * Extracts a value by path straight from the token stream of a UTF-8 encoded
+     * document, without building a tree or decoding the bytes to a String.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The extracted value as a String, or null if not found
+     * @throws IOException If the input is not valid JSON up to the value
+     * @throws JsonPathException If the path is malformed
+     * @see #extractValue(InputStream, String)
+     */
+    public String extractValue(byte[] json, String path) throws IOException {
+        if (json == null || path == null || path.isEmpty()) {
+            return null;
+        }
+        return extractValue(json, compilePath(path));
+    }
 
-        for (String part : parts) {
-            // Handle array access, e.g., "field[0]"
-            if (part.contains("[") && part.endsWith("]")) {
-                int bracketIndex = part.indexOf('[');
-                String fieldName = part.substring(0, bracketIndex);
+    /**
+     * Extracts a value by a compiled path straight from the token stream of a UTF-8
+     * encoded document.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The compiled path to the value
+     * @return The extracted value as a String, or null if not found
+     * @throws IOException If the input is not valid JSON up to the value
+     * @see #extractValue(InputStream, String)
+     */
+    public String extractValue(byte[] json, JsonPath path) throws IOException {
+        if (json == null) {
+            return null;
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return extractValue(parser, path);
+        }
+    }
 
-                // Intentional bug: not validating that the index is a number
-                // This could cause NumberFormatException
-                String indexStr = part.substring(bracketIndex + 1, part.length() - 1);
-                int index = Integer.parseInt(indexStr);
+    private String extractValue(com.fasterxml.jackson.core.JsonParser parser, JsonPath path) throws IOException {
+        JsonToken token = moveTo(parser, path);
+        return token != null ? textOf(parser, token) : null;
+    }
 
-                current = current.get(fieldName);
-                if (current == null || !current.isArray()) {
+    /**
+     * Advance the parser to the value a path leads to
+     *
+     * @return the first token of the value, or null if the path does not exist
+     */
+    private static JsonToken moveTo(com.fasterxml.jackson.core.JsonParser parser, JsonPath path) throws IOException {
+        JsonToken token = parser.nextToken();
+        for (int step = 0; step < path.length() && token != null; step++) {
+            if (path.isIndex(step)) {
+                if (!moveToElement(parser, token, path.index(step))) {
                     return null;
                 }
-
-                // Intentional bug: not checking array bounds
-                // This could cause ArrayIndexOutOfBoundsException
-                current = current.get(index);
             } else {
-                current = current.get(part);
+                if (!moveToField(parser, token, path.fieldName(step))) {
+                    return null;
+                }
+                parser.nextToken();
             }
+            token = parser.currentToken();
+        }
+        return token;
+    }
+
+    /**
+     * Extracts an integral number from a JSON node by path, without formatting it as text.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The number, or empty if not found or not an integral number that fits in a long
+     * @throws JsonPathException If the path is malformed
+     */
+    public OptionalLong extractLong(JsonNode node, String path) {
+        return node == null || path == null || path.isEmpty()
+                ? OptionalLong.empty()
+                : extractLong(node, compilePath(path));
+    }
+
+    /**
+     * Extracts an integral number from a JSON node by a compiled path.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The compiled path to the value
+     * @return The number, or empty if not found or not an integral number that fits in a long
+     */
+    public OptionalLong extractLong(JsonNode node, JsonPath path) {
+        JsonNode value = node != null ? path.evaluate(node) : null;
+        return isLong(value) ? OptionalLong.of(value.longValue()) : OptionalLong.empty();
+    }
+
+    /**
+     * Extracts an integral number from a JSON node by a compiled path. Nothing is
+     * allocated, which suits lookups on a hot path.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The compiled path to the value
+     * @param defaultValue The value to return when there is no such number
+     * @return The number, or the default if not found or not an integral number that fits in a long
+     */
+    public long extractLong(JsonNode node, JsonPath path, long defaultValue) {
+        JsonNode value = node != null ? path.evaluate(node) : null;
+        return isLong(value) ? value.longValue() : defaultValue;
+    }
+
+    /**
+     * Extracts an integral number straight from the token stream of a UTF-8 encoded document.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The number, or empty if not found or not an integral number that fits in a long
+     * @throws IOException If the input is not valid JSON up to the value
+     * @throws JsonPathException If the path is malformed
+     * @see #extractValue(InputStream, String)
+     */
+    public OptionalLong extractLong(byte[] json, String path) throws IOException {
+        return json == null || path == null || path.isEmpty()
+                ? OptionalLong.empty()
+                : extractLong(json, compilePath(path));
+    }
+
+    /**
+     * Extracts an integral number by a compiled path straight from the token stream of
+     * a UTF-8 encoded document. The number is read from the token without going through text.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The compiled path to the value
+     * @return The number, or empty if not found or not an integral number that fits in a long
+     * @throws IOException If the input is not valid JSON up to the value
+     */
+    public OptionalLong extractLong(byte[] json, JsonPath path) throws IOException {
+        if (json == null) {
+            return OptionalLong.empty();
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            JsonToken token = moveTo(parser, path);
+            return token == JsonToken.VALUE_NUMBER_INT
+                    && parser.getNumberType() != com.fasterxml.jackson.core.JsonParser.NumberType.BIG_INTEGER
+                    ? OptionalLong.of(parser.getLongValue())
+                    : OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Extracts a number from a JSON node by path as a double.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The number, or empty if not found or not a number
+     * @throws JsonPathException If the path is malformed
+     */
+    public OptionalDouble extractDouble(JsonNode node, String path) {
+        return node == null || path == null || path.isEmpty()
+                ? OptionalDouble.empty()
+                : extractDouble(node, compilePath(path));
+    }
+
+    /**
+     * Extracts a number from a JSON node by a compiled path as a double.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The compiled path to the value
+     * @return The number, or empty if not found or not a number
+     */
+    public OptionalDouble extractDouble(JsonNode node, JsonPath path) {
+        JsonNode value = node != null ? path.evaluate(node) : null;
+        return value != null && value.isNumber() ? OptionalDouble.of(value.doubleValue()) : OptionalDouble.empty();
+    }
+
+    /**
+     * Extracts a number from a JSON node by a compiled path as a double, without allocating.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The compiled path to the value
+     * @param defaultValue The value to return when there is no such number
+     * @return The number, or the default if not found or not a number
+     */
+    public double extractDouble(JsonNode node, JsonPath path, double defaultValue) {
+        JsonNode value = node != null ? path.evaluate(node) : null;
+        return value != null && value.isNumber() ? value.doubleValue() : defaultValue;
+    }
 
-            if (current == null) {
+    /**
+     * Extracts a number straight from the token stream of a UTF-8 encoded document as a double.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The number, or empty if not found or not a number
+     * @throws IOException If the input is not valid JSON up to the value
+     * @throws JsonPathException If the path is malformed
+     */
+    public OptionalDouble extractDouble(byte[] json, String path) throws IOException {
+        return json == null || path == null || path.isEmpty()
+                ? OptionalDouble.empty()
+                : extractDouble(json, compilePath(path));
+    }
+
+    /**
+     * Extracts a number by a compiled path straight from the token stream of a UTF-8
+     * encoded document as a double.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The compiled path to the value
+     * @return The number, or empty if not found or not a number
+     * @throws IOException If the input is not valid JSON up to the value
+     */
+    public OptionalDouble extractDouble(byte[] json, JsonPath path) throws IOException {
+        if (json == null) {
+            return OptionalDouble.empty();
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            JsonToken token = moveTo(parser, path);
+            return token != null && token.isNumeric()
+                    ? OptionalDouble.of(parser.getDoubleValue())
+                    : OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * Extracts a boolean from a JSON node by path.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The boolean, or null if not found or not a boolean
+     * @throws JsonPathException If the path is malformed
+     */
+    public Boolean extractBoolean(JsonNode node, String path) {
+        return node == null || path == null || path.isEmpty() ? null : extractBoolean(node, compilePath(path));
+    }
+
+    /**
+     * Extracts a boolean from a JSON node by a compiled path.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The compiled path to the value
+     * @return The boolean, or null if not found or not a boolean
+     */
+    public Boolean extractBoolean(JsonNode node, JsonPath path) {
+        JsonNode value = node != null ? path.evaluate(node) : null;
+        return value != null && value.isBoolean() ? Boolean.valueOf(value.booleanValue()) : null;
+    }
+
+    /**
+     * Extracts a boolean straight from the token stream of a UTF-8 encoded document.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The boolean, or null if not found or not a boolean
+     * @throws IOException If the input is not valid JSON up to the value
+     * @throws JsonPathException If the path is malformed
+     */
+    public Boolean extractBoolean(byte[] json, String path) throws IOException {
+        return json == null || path == null || path.isEmpty() ? null : extractBoolean(json, compilePath(path));
+    }
+
+    /**
+     * Extracts a boolean by a compiled path straight from the token stream of a UTF-8 encoded document.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The compiled path to the value
+     * @return The boolean, or null if not found or not a boolean
+     * @throws IOException If the input is not valid JSON up to the value
+     */
+    public Boolean extractBoolean(byte[] json, JsonPath path) throws IOException {
+        if (json == null) {
+            return null;
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            JsonToken token = moveTo(parser, path);
+            return token != null && token.isBoolean() ? Boolean.valueOf(token == JsonToken.VALUE_TRUE) : null;
+        }
+    }
+
+    /**
+     * Extracts a number from a JSON node by path as a decimal. A floating point number
+     * is converted from the double the tree holds, unless the mapper is configured to
+     * read floats as decimals.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The number, or null if not found or not a number
+     * @throws JsonPathException If the path is malformed
+     */
+    public BigDecimal extractDecimal(JsonNode node, String path) {
+        return node == null || path == null || path.isEmpty() ? null : extractDecimal(node, compilePath(path));
+    }
+
+    /**
+     * Extracts a number from a JSON node by a compiled path as a decimal.
+     *
+     * @param node The JsonNode to extract from
+     * @param path The compiled path to the value
+     * @return The number, or null if not found or not a number
+     * @see #extractDecimal(JsonNode, String)
+     */
+    public BigDecimal extractDecimal(JsonNode node, JsonPath path) {
+        JsonNode value = node != null ? path.evaluate(node) : null;
+        return value != null && value.isNumber() ? value.decimalValue() : null;
+    }
+
+    /**
+     * Extracts a number straight from the token stream of a UTF-8 encoded document as a
+     * decimal. The decimal keeps the digits exactly as written, trailing zeros included.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The number, or null if not found or not a number
+     * @throws IOException If the input is not valid JSON up to the value
+     * @throws JsonPathException If the path is malformed
+     */
+    public BigDecimal extractDecimal(byte[] json, String path) throws IOException {
+        return json == null || path == null || path.isEmpty() ? null : extractDecimal(json, compilePath(path));
+    }
+
+    /**
+     * Extracts a number by a compiled path straight from the token stream of a UTF-8
+     * encoded document as a decimal.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param path The compiled path to the value
+     * @return The number, or null if not found or not a number
+     * @throws IOException If the input is not valid JSON up to the value
+     * @see #extractDecimal(byte[], String)
+     */
+    public BigDecimal extractDecimal(byte[] json, JsonPath path) throws IOException {
+        if (json == null) {
+            return null;
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            JsonToken token = moveTo(parser, path);
+            return token != null && token.isNumeric() ? parser.getDecimalValue() : null;
+        }
+    }
+
+    private static boolean isLong(JsonNode value) {
+        return value != null && value.isIntegralNumber() && value.canConvertToLong();
+    }
+
+    /**
+     * Builds a structural index over a UTF-8 encoded document, for documents that are
+     * queried many times. The document is read once to validate it and record where
+     * every value starts; lookups through {@link #extractValue(JsonTape, String)} then
+     * jump straight to the value instead of rescanning the document, and the index is
+     * much smaller than a tree. As with {@link #parse(byte[])}, only the first value of
+     * the input is read.
+     *
+     * @param json The UTF-8 encoded JSON document; it must not be modified while the tape is in use
+     * @return The index over the document
+     * @throws IOException If the input is not valid JSON or is not UTF-8 encoded
+     */
+    public JsonTape index(byte[] json) throws IOException {
+        return JsonTape.build(objectMapper.getFactory(), json);
+    }
+
+    /**
+     * Extracts a value by path from an indexed document. Only the value the path ends
+     * on is decoded. The result is the same as {@code extractValue(parse(json), path)}.
+     *
+     * @param tape The indexed document
+     * @param path The path to the value (format: "field1.field2[0].field3")
+     * @return The extracted value as a String, or null if not found
+     * @throws IOException If the value cannot be decoded
+     * @throws JsonPathException If the path is malformed
+     */
+    public String extractValue(JsonTape tape, String path) throws IOException {
+        if (tape == null || path == null || path.isEmpty()) {
+            return null;
+        }
+        return extractValue(tape, compilePath(path));
+    }
+
+    /**
+     * Extracts a value by a compiled path from an indexed document.
+     *
+     * @param tape The indexed document
+     * @param path The compiled path to the value
+     * @return The extracted value as a String, or null if not found
+     * @throws IOException If the value cannot be decoded
+     * @see #extractValue(JsonTape, String)
+     */
+    public String extractValue(JsonTape tape, JsonPath path) throws IOException {
+        if (tape == null) {
+            return null;
+        }
+        int entry = tape.locate(path);
+        if (entry < 0) {
+            return null;
+        }
+        switch (tape.type(entry)) {
+            case JsonTape.OBJECT, JsonTape.ARRAY:
+                return "";
+            case JsonTape.STRING:
+                return tape.text(entry);
+            case JsonTape.TRUE:
+                return "true";
+            case JsonTape.FALSE:
+                return "false";
+            case JsonTape.NULL:
+                return "null";
+            default:
+                try (com.fasterxml.jackson.core.JsonParser parser = tape.parserAt(entry)) {
+                    return textOf(parser, parser.nextToken());
+                }
+        }
+    }
+
+    /**
+     * Compiles several paths into a set that can be resolved in one traversal.
+     * Each path is compiled through the same cache as {@link #compilePath(String)}.
+     *
+     * @param paths The paths (format: "field1.field2[0].field3")
+     * @return The compiled path set
+     * @throws JsonPathException If any of the paths is empty or malformed
+     */
+    public JsonPathSet compilePaths(List<String> paths) {
+        return JsonPathSet.of(paths.stream().map(this::compilePath).toList());
+    }
+
+    /**
+     * Extracts several values from a JSON node in one traversal. Nodes on a prefix
+     * shared by several paths are looked up once.
+     *
+     * @param node The JsonNode to extract from
+     * @param paths The paths to the values (format: "field1.field2[0].field3")
+     * @return The extracted values by path, in the order of the paths; null where a path is not found
+     * @throws JsonPathException If any of the paths is empty or malformed
+     */
+    public Map<String, String> extractValues(JsonNode node, List<String> paths) {
+        return extractValues(node, compilePaths(paths));
+    }
+
+    /**
+     * Extracts several values from a JSON node by a compiled path set.
+     *
+     * @param node The JsonNode to extract from
+     * @param paths The compiled paths to the values
+     * @return The extracted values by path, in the order of the paths; null where a path is not found
+     */
+    public Map<String, String> extractValues(JsonNode node, JsonPathSet paths) {
+        JsonNode[] values = paths.evaluate(node);
+        String[] results = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            results[i] = values[i] != null ? values[i].asText() : null;
+        }
+        return toMap(paths, results);
+    }
+
+    /**
+     * Extracts several values straight from the token stream in one pass. Subtrees that
+     * no path enters are skipped, and reading stops as soon as every path has resolved.
+     * As with {@link #extractValue(InputStream, String)}, a repeated field name resolves
+     * to its first occurrence.
+     *
+     * @param json The JSON document; it is closed when this method returns
+     * @param paths The paths to the values (format: "field1.field2[0].field3")
+     * @return The extracted values by path, in the order of the paths; null where a path is not found
+     * @throws IOException If the input cannot be read or is not valid JSON up to the last value
+     * @throws JsonPathException If any of the paths is empty or malformed
+     */
+    public Map<String, String> extractValues(InputStream json, List<String> paths) throws IOException {
+        return extractValues(json, compilePaths(paths));
+    }
+
+    /**
+     * Extracts several values by a compiled path set straight from the token stream.
+     *
+     * @param json The JSON document; it is closed when this method returns
+     * @param paths The compiled paths to the values
+     * @return The extracted values by path, in the order of the paths; null where a path is not found
+     * @throws IOException If the input cannot be read or is not valid JSON up to the last value
+     * @see #extractValues(InputStream, List)
+     */
+    public Map<String, String> extractValues(InputStream json, JsonPathSet paths) throws IOException {
+        if (json == null) {
+            return toMap(paths, new String[paths.size()]);
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return extractValues(parser, paths);
+        }
+    }
+
+    /**
+     * Extracts several values straight from the token stream of a UTF-8 encoded document in one pass.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param paths The paths to the values (format: "field1.field2[0].field3")
+     * @return The extracted values by path, in the order of the paths; null where a path is not found
+     * @throws IOException If the input is not valid JSON up to the last value
+     * @throws JsonPathException If any of the paths is empty or malformed
+     * @see #extractValues(InputStream, List)
+     */
+    public Map<String, String> extractValues(byte[] json, List<String> paths) throws IOException {
+        return extractValues(json, compilePaths(paths));
+    }
+
+    /**
+     * Extracts several values by a compiled path set straight from the token stream
+     * of a UTF-8 encoded document.
+     *
+     * @param json The UTF-8 encoded JSON document
+     * @param paths The compiled paths to the values
+     * @return The extracted values by path, in the order of the paths; null where a path is not found
+     * @throws IOException If the input is not valid JSON up to the last value
+     * @see #extractValues(InputStream, List)
+     */
+    public Map<String, String> extractValues(byte[] json, JsonPathSet paths) throws IOException {
+        if (json == null) {
+            return toMap(paths, new String[paths.size()]);
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return extractValues(parser, paths);
+        }
+    }
+
+    private Map<String, String> extractValues(com.fasterxml.jackson.core.JsonParser parser, JsonPathSet paths)
+            throws IOException {
+        PathSetWalk walk = new PathSetWalk(paths.size());
+        JsonToken token = parser.nextToken();
+        if (token != null && walk.remaining > 0) {
+            resolve(parser, paths.root(), token, walk);
+        }
+        return toMap(paths, walk.results);
+    }
+
+    /**
+     * Resolve the paths below a trie node against the value at the current token.
+     * Returns with the parser on the last token of that value, or as soon as every
+     * path of the walk has resolved. Once every path below the node has resolved,
+     * the rest of the value is skipped without looking up its fields or elements.
+     *
+     * @return the number of paths this call resolved
+     */
+    private int resolve(com.fasterxml.jackson.core.JsonParser parser, JsonPathSet.Node node, JsonToken token,
+                        PathSetWalk walk) throws IOException {
+        int found = 0;
+        if (node.slots.length > 0) {
+            String text = textOf(parser, token);
+            for (int slot : node.slots) {
+                if (walk.resolve(slot, text)) {
+                    found++;
+                }
+            }
+            if (walk.remaining == 0) {
+                return found;
+            }
+        }
+
+        if (token == JsonToken.START_OBJECT && !node.fields.isEmpty()) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonPathSet.Node child = node.fields.get(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (child == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                found += resolve(parser, child, value, walk);
+                if (walk.remaining == 0) {
+                    return found;
+                }
+                if (found == node.subtreeSlots) {
+                    skipToEnd(parser);
+                    return found;
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY && node.indices.length > 0) {
+            int next = 0;
+            JsonToken element;
+            for (int index = 0; (element = parser.nextToken()) != JsonToken.END_ARRAY && element != null; index++) {
+                if (next < node.indices.length && node.indices[next] == index) {
+                    found += resolve(parser, node.elements[next++], element, walk);
+                    if (walk.remaining == 0) {
+                        return found;
+                    }
+                    if (found == node.subtreeSlots || next == node.indices.length) {
+                        skipToEnd(parser);
+                        return found;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return found;
+    }
+
+    /**
+     * Move the parser to the end of the object or array it is inside
+     */
+    private static void skipToEnd(com.fasterxml.jackson.core.JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && !token.isStructEnd()) {
+            parser.skipChildren();
+        }
+    }
+
+    private static Map<String, String> toMap(JsonPathSet paths, String[] results) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            values.put(paths.paths().get(i).getExpression(), results[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Advance past the name of a field of the object that starts at the current token,
+     * skipping the values of the fields before it.
+     *
+     * @return true if the parser now stands on the field name, false if there is no such field
+     */
+    private static boolean moveToField(com.fasterxml.jackson.core.JsonParser parser, JsonToken token,
+                                       String fieldName) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (fieldName.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Advance to an element of the array that starts at the current token,
+     * skipping the elements before it.
+     *
+     * @return true if the parser now stands on the element, false if there is no such element
+     */
+    private static boolean moveToElement(com.fasterxml.jackson.core.JsonParser parser, JsonToken token,
+                                         int index) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            return false;
+        }
+        for (int i = 0; i < index; i++) {
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                return false;
+            }
+            parser.skipChildren();
+        }
+        return parser.nextToken() != JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Render the value at the current token the way {@link JsonNode#asText()} would
+     */
+    private String textOf(com.fasterxml.jackson.core.JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            // Containers render as an empty string; no need to read them
+            return "";
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return "null";
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        // Numbers and booleans go through the mapper, so they are formatted exactly as in a tree
+        JsonNode value = objectMapper.readTree(parser);
+        return value.asText();
+    }
+
+    /**
+     * Results of a single-pass walk over several paths; the first value found for a path wins
+     */
+    private static final class PathSetWalk {
+        private final String[] results;
+        private final boolean[] resolved;
+        private int remaining;
+
+        private PathSetWalk(int size) {
+            this.results = new String[size];
+            this.resolved = new boolean[size];
+            this.remaining = size;
+        }
+
+        private boolean resolve(int slot, String value) {
+            if (resolved[slot]) {
+                return false;
+            }
+            resolved[slot] = true;
+            results[slot] = value;
+            remaining--;
+            return true;
+        }
+    }
+
+    /**
+     * Parses a range of array elements, splitting it in halves until a chunk is small
+     * enough that handing it to another worker would cost more than parsing it
+     */
+    private final class ParseElements extends RecursiveAction {
+        private static final int CHUNK_BYTES = 64 * 1024;
+
+        private final byte[] json;
+        private final int[] bounds;
+        private final JsonNode[] elements;
+        private final int from;
+        private final int to;
+
+        private ParseElements(byte[] json, int[] bounds, JsonNode[] elements, int from, int to) {
+            this.json = json;
+            this.bounds = bounds;
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && bounds[to * 2 - 1] - bounds[from * 2] > CHUNK_BYTES) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseElements(json, bounds, elements, from, middle),
+                        new ParseElements(json, bounds, elements, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                int start = bounds[i * 2];
+                try (com.fasterxml.jackson.core.JsonParser parser =
+                             objectMapper.getFactory().createParser(json, start, bounds[i * 2 + 1] - start)) {
+                    JsonNode element = objectMapper.readTree(parser);
+                    if (element == null || parser.nextToken() != null) {
+                        throw new JsonParseException(parser, "Array element " + i + " is not a single value");
+                    }
+                    elements[i] = element;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the tokens of a document and checks field name lengths, which Jackson's own
+     * read constraints do not cover. Skipped subtrees are counted too.
+     */
+    private final class LimitedParser extends JsonParserDelegate {
+        private final ParseLimits limits;
+        private long tokens;
+
+        private LimitedParser(com.fasterxml.jackson.core.JsonParser parser, ParseLimits limits) {
+            super(parser);
+            this.limits = limits;
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            JsonToken token = delegate.nextToken();
+            if (token == null) {
                 return null;
             }
+            if (++tokens > limits.getMaxTokens()) {
+                throw limitExceeded(ParseLimits.Limit.TOKEN_COUNT,
+                        "Token count exceeds the maximum (" + limits.getMaxTokens() + ")", null);
+            }
+            if (token == JsonToken.FIELD_NAME && delegate.currentName().length() > limits.getMaxStringLength()) {
+                throw limitExceeded(ParseLimits.Limit.STRING_LENGTH, "Field name length ("
+                        + delegate.currentName().length() + ") exceeds the maximum length ("
+                        + limits.getMaxStringLength() + ")", null);
+            }
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+
+        @Override
+        public com.fasterxml.jackson.core.JsonParser skipChildren() throws IOException {
+            JsonToken token = currentToken();
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                return this;
+            }
+            int open = 1;
+            while (open > 0) {
+                token = nextToken();
+                if (token == null) {
+                    return this;
+                }
+                if (token.isStructStart()) {
+                    open++;
+                } else if (token.isStructEnd()) {
+                    open--;
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Fails the read as soon as more than the allowed number of bytes has been consumed
+     */
+    private final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+            this.remaining = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consumed(1);
+            }
+            return b;
         }
 
-        return current.asText();
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            // Read at most one byte past the limit, enough to tell that it was exceeded.
+            // Compare before adding, since remaining + 1 overflows for a limit of Long.MAX_VALUE.
+            int n = super.read(buffer, offset, remaining < length ? (int) remaining + 1 : length);
+            if (n > 0) {
+                consumed(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(remaining < n ? remaining + 1 : n);
+            consumed(skipped);
+            return skipped;
+        }
+
+        private void consumed(long n) throws JsonLimitExceededException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw limitExceeded(ParseLimits.Limit.INPUT_LENGTH,
+                        "Input length exceeds the maximum length (" + maxBytes + ")", null);
+            }
+        }
     }
 }
@@ -0,0 +1,166 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled, immutable path into a JSON document, such as {@code "order.items[2].sku"}.
+ * <p>
+ * A path is one or more segments separated by dots. A segment is a field name followed
+ * by any number of array indices, or only indices, which then apply to the value the
+ * previous segment reached (or to the root). Field names cannot contain {@code .},
+ * {@code [} or {@code ]}; indices are non-negative decimal integers. Anything else is
+ * rejected with a {@link JsonPathException} when the path is compiled, so evaluating
+ * it never fails.
+ */
+public final class JsonPath {
+
+    private final String expression;
+    // One entry per step: a field name, or null for an index step
+    private final String[] names;
+    // One entry per step: an array index, or -1 for a field step
+    private final int[] indices;
+
+    private JsonPath(String expression, String[] names, int[] indices) {
+        this.expression = expression;
+        this.names = names;
+        this.indices = indices;
+    }
+
+    /**
+     * Compile a path expression
+     *
+     * @param expression the path, e.g. {@code "field1.field2[0].field3"}
+     * @return the compiled path
+     * @throws JsonPathException if the expression is null, empty or malformed
+     */
+    public static JsonPath compile(String expression) {
+        if (expression == null || expression.isEmpty()) {
+            throw new JsonPathException("Path is empty", String.valueOf(expression), 0);
+        }
+
+        int length = expression.length();
+        List<String> names = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        int i = 0;
+        while (true) {
+            int segmentStart = i;
+            while (i < length && !isReserved(expression.charAt(i))) {
+                i++;
+            }
+            if (i > segmentStart) {
+                names.add(expression.substring(segmentStart, i));
+                indices.add(-1);
+            }
+            while (i < length && expression.charAt(i) == '[') {
+                int digitsStart = ++i;
+                long index = 0;
+                while (i < length && isDigit(expression.charAt(i))) {
+                    index = index * 10 + (expression.charAt(i) - '0');
+                    if (index > Integer.MAX_VALUE) {
+                        throw new JsonPathException("Array index is too large", expression, digitsStart);
+                    }
+                    i++;
+                }
+                if (i == digitsStart) {
+                    throw new JsonPathException("Expected an array index", expression, i);
+                }
+                if (i == length || expression.charAt(i) != ']') {
+                    throw new JsonPathException("Expected ']'", expression, i);
+                }
+                i++;
+                names.add(null);
+                indices.add((int) index);
+            }
+            if (i == segmentStart) {
+                throw new JsonPathException("Expected a field name or an array index", expression, i);
+            }
+            if (i == length) {
+                break;
+            }
+            if (expression.charAt(i) != '.') {
+                throw new JsonPathException("Unexpected '" + expression.charAt(i) + "'", expression, i);
+            }
+            if (++i == length) {
+                throw new JsonPathException("Path ends with '.'", expression, i);
+            }
+        }
+        return new JsonPath(expression, names.toArray(new String[0]),
+                indices.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Follow the path from a node
+     *
+     * @param root the node to start from
+     * @return the node at the end of the path, or null if the path does not exist
+     */
+    public JsonNode evaluate(JsonNode root) {
+        JsonNode current = root;
+        for (int step = 0; step < names.length && current != null; step++) {
+            int index = indices[step];
+            current = index < 0 ? current.get(names[step]) : current.get(index);
+        }
+        return current;
+    }
+
+    /**
+     * @return the number of steps, counting each field name and each array index as one
+     */
+    public int length() {
+        return names.length;
+    }
+
+    /**
+     * @param step the step, from zero
+     * @return true if the step is an array index, false if it is a field name
+     */
+    public boolean isIndex(int step) {
+        return indices[step] >= 0;
+    }
+
+    /**
+     * @param step the step, from zero
+     * @return the field name of a field step, or null for an index step
+     */
+    public String fieldName(int step) {
+        return names[step];
+    }
+
+    /**
+     * @param step the step, from zero
+     * @return the array index of an index step, or -1 for a field step
+     */
+    public int index(int step) {
+        return indices[step];
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonPath other && expression.equals(other.expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static boolean isReserved(char c) {
+        return c == '.' || c == '[' || c == ']';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
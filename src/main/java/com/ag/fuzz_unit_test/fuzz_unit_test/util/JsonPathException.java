@@ -0,0 +1,24 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+/**
+ * Thrown when a path expression for {@link JsonParser} is malformed
+ */
+public class JsonPathException extends IllegalArgumentException {
+
+    private final String path;
+    private final int position;
+
+    public JsonPathException(String message, String path, int position) {
+        super(message + " at position " + position + " of path '" + path + "'");
+        this.path = path;
+        this.position = position;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
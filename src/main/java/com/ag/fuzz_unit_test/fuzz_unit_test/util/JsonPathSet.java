@@ -0,0 +1,152 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several compiled paths merged into a trie, so all of them can be resolved in one
+ * traversal of a document. Paths that share a prefix share the steps of that prefix.
+ * Duplicate paths are kept once; results are reported in the order the distinct
+ * paths were first given.
+ */
+public final class JsonPathSet {
+
+    private final List<JsonPath> paths;
+    private final Node root;
+
+    private JsonPathSet(List<JsonPath> paths, Node root) {
+        this.paths = paths;
+        this.root = root;
+    }
+
+    /**
+     * Merge compiled paths into a set
+     *
+     * @param paths the paths
+     * @return the path set
+     */
+    public static JsonPathSet of(List<JsonPath> paths) {
+        Map<String, JsonPath> distinct = new LinkedHashMap<>();
+        for (JsonPath path : paths) {
+            distinct.putIfAbsent(path.getExpression(), path);
+        }
+        List<JsonPath> ordered = List.copyOf(distinct.values());
+
+        Builder root = new Builder();
+        for (int slot = 0; slot < ordered.size(); slot++) {
+            JsonPath path = ordered.get(slot);
+            Builder node = root;
+            for (int step = 0; step < path.length(); step++) {
+                node = path.isIndex(step)
+                        ? node.elements.computeIfAbsent(path.index(step), index -> new Builder())
+                        : node.fields.computeIfAbsent(path.fieldName(step), name -> new Builder());
+            }
+            node.slots.add(slot);
+        }
+        return new JsonPathSet(ordered, root.build());
+    }
+
+    /**
+     * Resolve every path against a tree, visiting each node on a shared prefix once
+     *
+     * @param node the node to start from
+     * @return the node each path leads to, or null where it does not exist, in the order of {@link #paths()}
+     */
+    public JsonNode[] evaluate(JsonNode node) {
+        JsonNode[] results = new JsonNode[paths.size()];
+        if (node != null) {
+            evaluate(root, node, results);
+        }
+        return results;
+    }
+
+    private static void evaluate(Node trieNode, JsonNode node, JsonNode[] results) {
+        for (int slot : trieNode.slots) {
+            results[slot] = node;
+        }
+        for (Map.Entry<String, Node> field : trieNode.fields.entrySet()) {
+            JsonNode child = node.get(field.getKey());
+            if (child != null) {
+                evaluate(field.getValue(), child, results);
+            }
+        }
+        for (int i = 0; i < trieNode.indices.length; i++) {
+            JsonNode child = node.get(trieNode.indices[i]);
+            if (child != null) {
+                evaluate(trieNode.elements[i], child, results);
+            }
+        }
+    }
+
+    /**
+     * @return the distinct paths, in the order results are reported
+     */
+    public List<JsonPath> paths() {
+        return paths;
+    }
+
+    /**
+     * @return the number of distinct paths
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    Node root() {
+        return root;
+    }
+
+    /**
+     * A step of the trie. The children of a node are the field names and array indices
+     * that continue some path; the slots are the paths that end at the node.
+     */
+    static final class Node {
+        final Map<String, Node> fields;
+        // Sorted ascending, with the matching child at the same position in elements
+        final int[] indices;
+        final Node[] elements;
+        final int[] slots;
+        // Number of paths that end at this node or below it
+        final int subtreeSlots;
+
+        private Node(Map<String, Node> fields, int[] indices, Node[] elements, int[] slots) {
+            this.fields = fields;
+            this.indices = indices;
+            this.elements = elements;
+            this.slots = slots;
+            int count = slots.length;
+            for (Node child : fields.values()) {
+                count += child.subtreeSlots;
+            }
+            for (Node child : elements) {
+                count += child.subtreeSlots;
+            }
+            this.subtreeSlots = count;
+        }
+    }
+
+    private static final class Builder {
+        private final Map<String, Builder> fields = new HashMap<>();
+        private final Map<Integer, Builder> elements = new HashMap<>();
+        private final List<Integer> slots = new ArrayList<>();
+
+        private Node build() {
+            Map<String, Node> builtFields = new HashMap<>();
+            fields.forEach((name, child) -> builtFields.put(name, child.build()));
+
+            int[] indices = elements.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            Node[] builtElements = Arrays.stream(indices)
+                    .mapToObj(index -> elements.get(index).build())
+                    .toArray(Node[]::new);
+
+            return new Node(Map.copyOf(builtFields), indices, builtElements,
+                    slots.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One record of a newline-delimited JSON stream: either the parsed value, or the
+ * error that made the line unreadable. A bad line never affects the lines after it.
+ */
+public final class JsonRecord {
+
+    private final long lineNumber;
+    private final JsonNode value;
+    private final JsonProcessingException error;
+
+    private JsonRecord(long lineNumber, JsonNode value, JsonProcessingException error) {
+        this.lineNumber = lineNumber;
+        this.value = value;
+        this.error = error;
+    }
+
+    static JsonRecord of(long lineNumber, JsonNode value) {
+        return new JsonRecord(lineNumber, value, null);
+    }
+
+    static JsonRecord failed(long lineNumber, JsonProcessingException error) {
+        return new JsonRecord(lineNumber, null, error);
+    }
+
+    /**
+     * @return the line the record was read from, counting from one
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the parsed value, or null if the line could not be parsed
+     */
+    public JsonNode getValue() {
+        return value;
+    }
+
+    /**
+     * @return why the line could not be parsed, or null if it was parsed
+     */
+    public JsonProcessingException getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonRecord{line=" + lineNumber + ", " + (error == null ? "value=" + value : "error=" + error.getMessage()) + "}";
+    }
+}
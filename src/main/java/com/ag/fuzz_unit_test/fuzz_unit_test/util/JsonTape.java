@@ -0,0 +1,262 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A structural index over a UTF-8 encoded JSON document, for documents that are
+ * queried many times. Instead of a tree of nodes it keeps, for every value and field
+ * name, its kind, the byte offset where it starts and, for objects and arrays, the
+ * index of the first entry after the matching closing bracket. Lookups jump over
+ * whole subtrees with that index and decode only the value they end on. Arrays also
+ * get a table of where each element starts, so an element is found by its index
+ * without walking the ones before it.
+ * <p>
+ * The index takes 9 bytes per token and 4 per array element on top of the document,
+ * a fraction of what a {@code JsonNode} tree needs. It refers to the document bytes rather than copying
+ * them, so the array must not be modified while the tape is in use. Tapes are built
+ * by {@link JsonParser#index(byte[])} and are immutable.
+ */
+public final class JsonTape {
+
+    static final byte OBJECT = 1;
+    static final byte ARRAY = 2;
+    static final byte FIELD_NAME = 3;
+    static final byte STRING = 4;
+    static final byte NUMBER = 5;
+    static final byte TRUE = 6;
+    static final byte FALSE = 7;
+    static final byte NULL = 8;
+
+    private final JsonFactory factory;
+    private final byte[] json;
+    private final byte[] types;
+    // Arrays are never decoded, so their slot holds the start of their run in elements instead
+    private final int[] offsets;
+    // For objects and arrays the entry after the matching end, for anything else the next entry
+    private final int[] next;
+    // For each array, its element count followed by the entry of each element
+    private final int[] elements;
+
+    private JsonTape(JsonFactory factory, byte[] json, byte[] types, int[] offsets, int[] next, int[] elements) {
+        this.factory = factory;
+        this.json = json;
+        this.types = types;
+        this.offsets = offsets;
+        this.next = next;
+        this.elements = elements;
+    }
+
+    /**
+     * Index the first value of a document, validating it on the way
+     *
+     * @param factory the factory to read the document with
+     * @param json the UTF-8 encoded document
+     * @return the tape
+     * @throws IOException if the document is not valid JSON or not UTF-8 encoded
+     */
+    static JsonTape build(JsonFactory factory, byte[] json) throws IOException {
+        // Roughly one token per 8 bytes of typical JSON; the arrays grow as needed
+        int capacity = Math.max(16, json.length / 8);
+        byte[] types = new byte[capacity];
+        int[] offsets = new int[capacity];
+        int[] next = new int[capacity];
+        int[] elements = new int[16];
+        int elementsSize = 0;
+        int[] open = new int[16];
+        int depth = 0;
+        int size = 0;
+
+        try (com.fasterxml.jackson.core.JsonParser parser = factory.createParser(json)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token.isStructEnd()) {
+                    int start = open[--depth];
+                    next[start] = size;
+                    if (types[start] == ARRAY) {
+                        int count = 0;
+                        for (int child = start + 1; child < size; child = next[child]) {
+                            count++;
+                        }
+                        if (elementsSize + count + 1 > elements.length) {
+                            elements = Arrays.copyOf(elements, Math.max(elements.length * 2, elementsSize + count + 1));
+                        }
+                        offsets[start] = elementsSize;
+                        elements[elementsSize++] = count;
+                        for (int child = start + 1; child < size; child = next[child]) {
+                            elements[elementsSize++] = child;
+                        }
+                    }
+                    if (depth == 0) {
+                        break;
+                    }
+                    continue;
+                }
+                long offset = parser.getTokenLocation().getByteOffset();
+                if (offset < 0) {
+                    throw new JsonParseException(parser, "Only UTF-8 encoded documents can be indexed");
+                }
+                if (size == types.length) {
+                    int grown = types.length + (types.length >> 1);
+                    types = Arrays.copyOf(types, grown);
+                    offsets = Arrays.copyOf(offsets, grown);
+                    next = Arrays.copyOf(next, grown);
+                }
+                types[size] = typeOf(token);
+                offsets[size] = (int) offset;
+                next[size] = size + 1;
+                if (token.isStructStart()) {
+                    if (depth == open.length) {
+                        open = Arrays.copyOf(open, depth * 2);
+                    }
+                    open[depth++] = size;
+                }
+                size++;
+                if (depth == 0 && token != JsonToken.FIELD_NAME) {
+                    break;
+                }
+            }
+        }
+        return new JsonTape(factory, json, Arrays.copyOf(types, size), Arrays.copyOf(offsets, size),
+                Arrays.copyOf(next, size), Arrays.copyOf(elements, elementsSize));
+    }
+
+    private static byte typeOf(JsonToken token) {
+        return switch (token) {
+            case START_OBJECT -> OBJECT;
+            case START_ARRAY -> ARRAY;
+            case FIELD_NAME -> FIELD_NAME;
+            case VALUE_STRING -> STRING;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> NUMBER;
+            case VALUE_TRUE -> TRUE;
+            case VALUE_FALSE -> FALSE;
+            case VALUE_NULL -> NULL;
+            default -> throw new IllegalStateException("Unexpected token " + token);
+        };
+    }
+
+    /**
+     * @return the number of entries, one per value and field name
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * @return the memory taken by the index, not counting the document itself
+     */
+    public long indexSizeInBytes() {
+        return (long) types.length + 4L * offsets.length + 4L * next.length + 4L * elements.length;
+    }
+
+    byte type(int entry) {
+        return types[entry];
+    }
+
+    /**
+     * Find the entry a path leads to. Where a field name repeats, the last occurrence
+     * wins, as in a tree.
+     *
+     * @return the entry of the value, or -1 if the path does not exist
+     */
+    int locate(JsonPath path) throws IOException {
+        if (types.length == 0) {
+            return -1;
+        }
+        int entry = 0;
+        for (int step = 0; step < path.length() && entry >= 0; step++) {
+            entry = path.isIndex(step) ? element(entry, path.index(step)) : field(entry, path.fieldName(step));
+        }
+        return entry;
+    }
+
+    private int field(int entry, String name) throws IOException {
+        if (types[entry] != OBJECT) {
+            return -1;
+        }
+        int found = -1;
+        for (int child = entry + 1; child < next[entry]; child = next[child + 1]) {
+            if (nameEquals(child, name)) {
+                found = child + 1;
+            }
+        }
+        return found;
+    }
+
+    private int element(int entry, int index) {
+        if (types[entry] != ARRAY) {
+            return -1;
+        }
+        int table = offsets[entry];
+        return index < elements[table] ? elements[table + 1 + index] : -1;
+    }
+
+    /**
+     * Compare a field name with the raw bytes of a name entry, without decoding it
+     * unless it contains escapes or non-ASCII characters
+     */
+    private boolean nameEquals(int entry, String name) throws IOException {
+        if (json[offsets[entry]] != '"') {
+            return text(entry).equals(name);
+        }
+        int position = offsets[entry] + 1;
+        for (int i = 0; i < name.length(); i++, position++) {
+            byte b = json[position];
+            if (b == '\\' || b < 0) {
+                return text(entry).equals(name);
+            }
+            if (b == '"' || b != name.charAt(i)) {
+                return false;
+            }
+        }
+        return json[position] == '"';
+    }
+
+    /**
+     * Decode a string value or field name. Strings without escapes are decoded from
+     * the document bytes directly; the rest, including strings in single quotes
+     * where the mapper allows them, go through a parser.
+     */
+    String text(int entry) throws IOException {
+        int start = offsets[entry] + 1;
+        int end = start;
+        boolean plain = json[offsets[entry]] == '"';
+        while (plain && json[end] != '"') {
+            plain = json[end++] != '\\';
+        }
+        if (plain) {
+            return new String(json, start, end - start, StandardCharsets.UTF_8);
+        }
+        try (com.fasterxml.jackson.core.JsonParser parser = parserAt(entry)) {
+            parser.nextToken();
+            return parser.getText();
+        }
+    }
+
+    /**
+     * @return a parser over the bytes of a scalar entry, before its first token
+     */
+    com.fasterxml.jackson.core.JsonParser parserAt(int entry) throws IOException {
+        int start = offsets[entry];
+        int end = start;
+        if (json[start] == '"' || json[start] == '\'') {
+            end = json.length;
+        } else {
+            // A number or literal runs up to the next separator; the parser must not see
+            // the separator, as it would take it for a second root-level value
+            while (end < json.length && !isSeparator(json[end])) {
+                end++;
+            }
+        }
+        return factory.createParser(json, start, end - start);
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '/';
+    }
+}
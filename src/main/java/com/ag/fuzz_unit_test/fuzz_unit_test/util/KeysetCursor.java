@@ -0,0 +1,93 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * An opaque pagination cursor pointing just past the last row of a page that
+ * is ordered by a sort key and then by id. The sort key is kept in its
+ * ISO string form so the cursor works for dates and timestamps alike.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String sortKey;
+    private final long id;
+
+    public KeysetCursor(String sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Encode this cursor into a URL-safe token
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Read the sort key as a date
+     *
+     * @return the sort key
+     * @throws BadRequestException if the sort key is not an ISO date
+     */
+    public LocalDate sortKeyAsDate() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + encode(), e);
+        }
+    }
+
+    /**
+     * Read the sort key as a timestamp
+     *
+     * @return the sort key
+     * @throws BadRequestException if the sort key is not an ISO date-time
+     */
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + encode(), e);
+        }
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
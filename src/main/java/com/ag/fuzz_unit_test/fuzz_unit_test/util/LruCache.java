@@ -0,0 +1,185 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A small, thread-safe, size-bounded cache with least-recently-used eviction
+ * and an optional time-to-live per entry.
+ * <p>
+ * A caller that loads a value from a source which may change concurrently takes a
+ * {@link #stamp()} before loading and stores the result with
+ * {@link #putIfNotInvalidated(Object, Object, long)}. The value is then dropped if an
+ * invalidation happened in between, so a stale load cannot overwrite it.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long invalidations;
+
+    /**
+     * Create a cache without expiry
+     *
+     * @param maxEntries the maximum number of entries kept
+     */
+    public LruCache(int maxEntries) {
+        this(maxEntries, Duration.ZERO, System::nanoTime);
+    }
+
+    /**
+     * Create a cache whose entries expire after the given time-to-live
+     *
+     * @param maxEntries the maximum number of entries kept
+     * @param ttl how long an entry stays valid, or zero for no expiry
+     */
+    public LruCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    /**
+     * Create a cache with an explicit nanosecond clock, mainly for tests
+     *
+     * @param maxEntries the maximum number of entries kept
+     * @param ttl how long an entry stays valid, or zero for no expiry
+     * @param clock the clock used to stamp and expire entries
+     */
+    public LruCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache TTL must not be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > LruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Look up a value
+     *
+     * @param key the key to look up
+     * @return the cached value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, clock.getAsLong())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Store a value, evicting the least recently used entry if the cache is full
+     *
+     * @param key the key
+     * @param value the value, must not be null
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cached value must not be null");
+        }
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+    }
+
+    /**
+     * Get a stamp that changes whenever an entry is invalidated
+     *
+     * @return the current stamp
+     */
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    /**
+     * Store a value unless any entry was invalidated since the stamp was taken
+     *
+     * @param key the key
+     * @param value the value, must not be null
+     * @param stamp the result of {@link #stamp()} taken before the value was loaded
+     * @return true if the value was stored
+     */
+    public synchronized boolean putIfNotInvalidated(K key, V value, long stamp) {
+        if (stamp != invalidations) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * Remove a single entry
+     *
+     * @param key the key to remove
+     */
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    /**
+     * Remove every entry whose value matches the predicate
+     *
+     * @param predicate the condition on cached values
+     */
+    public synchronized void invalidateIf(Predicate<? super V> predicate) {
+        invalidations++;
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next().value)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all entries
+     */
+    public synchronized void clear() {
+        invalidations++;
+        entries.clear();
+    }
+
+    /**
+     * Get the number of entries currently held, including expired ones not yet evicted
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return ttlNanos > 0 && now - entry.createdAt >= ttlNanos;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
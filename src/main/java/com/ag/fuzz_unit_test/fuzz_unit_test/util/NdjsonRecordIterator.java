@@ -0,0 +1,193 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads newline-delimited JSON one line at a time and hands each non-blank line to a
+ * decoder. Memory stays bounded: lines longer than the limit are discarded while they
+ * are read, and in parallel mode at most {@code window} lines are read ahead of the
+ * record the caller is waiting for. Records always come out in input order.
+ */
+final class NdjsonRecordIterator implements Iterator<JsonRecord>, Closeable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Turns the bytes of one line into a record
+     */
+    interface RecordDecoder {
+        JsonRecord decode(long lineNumber, byte[] line, int length);
+
+        JsonRecord oversized(long lineNumber);
+    }
+
+    private final InputStream in;
+    private final int maxLineLength;
+    private final RecordDecoder decoder;
+    private final Executor executor;
+    private final int window;
+
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private int readPosition;
+    private int readLimit;
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private boolean oversized;
+    private long lineNumber;
+
+    private JsonRecord next;
+    private final ArrayDeque<CompletableFuture<JsonRecord>> pending = new ArrayDeque<>();
+
+    /**
+     * @param executor the executor to decode lines on, or null to decode on the calling thread
+     * @param window the maximum number of lines decoded ahead of the caller in parallel mode
+     */
+    NdjsonRecordIterator(InputStream in, long maxLineLength, RecordDecoder decoder, Executor executor, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Decode window must be greater than zero");
+        }
+        this.in = in;
+        this.maxLineLength = (int) Math.min(maxLineLength, MAX_ARRAY_LENGTH);
+        this.decoder = decoder;
+        this.executor = executor;
+        this.window = window;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (executor == null) {
+            if (next == null) {
+                next = readRecord();
+            }
+            return next != null;
+        }
+        while (pending.size() < window && readLine()) {
+            pending.add(submit());
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public JsonRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (executor == null) {
+            JsonRecord record = next;
+            next = null;
+            return record;
+        }
+        return pending.poll().join();
+    }
+
+    @Override
+    public void close() {
+        pending.forEach(future -> future.cancel(false));
+        pending.clear();
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonRecord readRecord() {
+        if (!readLine()) {
+            return null;
+        }
+        // Decoding on this thread, so the line buffer can be parsed in place
+        return oversized ? decoder.oversized(lineNumber) : decoder.decode(lineNumber, line, lineLength);
+    }
+
+    private CompletableFuture<JsonRecord> submit() {
+        long number = lineNumber;
+        if (oversized) {
+            return CompletableFuture.completedFuture(decoder.oversized(number));
+        }
+        // The line buffer is reused for the next line, so the worker gets its own copy
+        byte[] copy = Arrays.copyOf(line, lineLength);
+        return CompletableFuture.supplyAsync(() -> decoder.decode(number, copy, copy.length), executor);
+    }
+
+    /**
+     * Read up to the next non-blank line
+     *
+     * @return false at the end of the input
+     */
+    private boolean readLine() {
+        try {
+            while (true) {
+                lineLength = 0;
+                oversized = false;
+                boolean read = false;
+                boolean complete = false;
+                while (!complete) {
+                    if (readPosition == readLimit && !fill()) {
+                        break;
+                    }
+                    read = true;
+                    int end = readPosition;
+                    while (end < readLimit && readBuffer[end] != '\n') {
+                        end++;
+                    }
+                    append(readPosition, end - readPosition);
+                    complete = end < readLimit;
+                    readPosition = complete ? end + 1 : end;
+                }
+                if (!read) {
+                    return false;
+                }
+                lineNumber++;
+                if (oversized || !isBlank()) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(readBuffer);
+        readPosition = 0;
+        readLimit = Math.max(n, 0);
+        return n > 0;
+    }
+
+    private void append(int offset, int length) {
+        if (oversized) {
+            return;
+        }
+        if (length > maxLineLength - lineLength) {
+            // Keep reading to the end of the line, but stop buffering it
+            oversized = true;
+            return;
+        }
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, (int) Math.min(Math.max(line.length * 2L, lineLength + length),
+                    MAX_ARRAY_LENGTH));
+        }
+        System.arraycopy(readBuffer, offset, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private boolean isBlank() {
+        for (int i = 0; i < lineLength; i++) {
+            byte b = line[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
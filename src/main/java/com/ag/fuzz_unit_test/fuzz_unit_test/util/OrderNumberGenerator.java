@@ -0,0 +1,32 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Source of order numbers. Implementations must return a value that is unique
+ * across the whole deployment without consulting the database.
+ */
+public interface OrderNumberGenerator {
+
+    /**
+     * Generate the next order number
+     *
+     * @return a new, unique order number
+     */
+    String nextOrderNumber();
+
+    /**
+     * Generate several order numbers at once
+     *
+     * @param count the number of order numbers to generate
+     * @return the new order numbers, in generation order
+     */
+    default List<String> nextOrderNumbers(int count) {
+        List<String> orderNumbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orderNumbers.add(nextOrderNumber());
+        }
+        return orderNumbers;
+    }
+}
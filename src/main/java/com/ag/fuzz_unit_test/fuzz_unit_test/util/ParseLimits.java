@@ -0,0 +1,135 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import java.util.Objects;
+
+/**
+ * Immutable resource limits for {@link JsonParser}. Every limit is checked while the
+ * input is read, so a hostile document fails after at most the configured amount of
+ * work and memory rather than after it has been read in full.
+ */
+public final class ParseLimits {
+
+    /**
+     * The kinds of limit, used to report which one a document exceeded
+     */
+    public enum Limit {
+        INPUT_LENGTH,
+        NESTING_DEPTH,
+        STRING_LENGTH,
+        NUMBER_LENGTH,
+        TOKEN_COUNT
+    }
+
+    /**
+     * Limits suitable for request bodies: 10 MiB, 256 levels, 1 MiB strings,
+     * 1000-digit numbers and one million tokens
+     */
+    public static final ParseLimits DEFAULT = new ParseLimits(10L * 1024 * 1024, 256, 1024 * 1024, 1000, 1_000_000L);
+
+    private final long maxInputLength;
+    private final int maxDepth;
+    private final int maxStringLength;
+    private final int maxNumberLength;
+    private final long maxTokens;
+
+    private ParseLimits(long maxInputLength, int maxDepth, int maxStringLength, int maxNumberLength, long maxTokens) {
+        requirePositive(maxInputLength, "Maximum input length");
+        requirePositive(maxDepth, "Maximum nesting depth");
+        requirePositive(maxStringLength, "Maximum string length");
+        requirePositive(maxNumberLength, "Maximum number length");
+        requirePositive(maxTokens, "Maximum token count");
+        this.maxInputLength = maxInputLength;
+        this.maxDepth = maxDepth;
+        this.maxStringLength = maxStringLength;
+        this.maxNumberLength = maxNumberLength;
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * @param maxInputLength the maximum input length, in bytes for byte input and in chars for a String
+     * @return a copy of these limits with the given input length
+     */
+    public ParseLimits withMaxInputLength(long maxInputLength) {
+        return new ParseLimits(maxInputLength, maxDepth, maxStringLength, maxNumberLength, maxTokens);
+    }
+
+    /**
+     * @param maxDepth the maximum nesting depth of objects and arrays
+     * @return a copy of these limits with the given depth
+     */
+    public ParseLimits withMaxDepth(int maxDepth) {
+        return new ParseLimits(maxInputLength, maxDepth, maxStringLength, maxNumberLength, maxTokens);
+    }
+
+    /**
+     * @param maxStringLength the maximum length, in chars, of a string value or field name
+     * @return a copy of these limits with the given string length
+     */
+    public ParseLimits withMaxStringLength(int maxStringLength) {
+        return new ParseLimits(maxInputLength, maxDepth, maxStringLength, maxNumberLength, maxTokens);
+    }
+
+    /**
+     * @param maxNumberLength the maximum length, in chars, of a number
+     * @return a copy of these limits with the given number length
+     */
+    public ParseLimits withMaxNumberLength(int maxNumberLength) {
+        return new ParseLimits(maxInputLength, maxDepth, maxStringLength, maxNumberLength, maxTokens);
+    }
+
+    /**
+     * @param maxTokens the maximum number of tokens in the document
+     * @return a copy of these limits with the given token count
+     */
+    public ParseLimits withMaxTokens(long maxTokens) {
+        return new ParseLimits(maxInputLength, maxDepth, maxStringLength, maxNumberLength, maxTokens);
+    }
+
+    public long getMaxInputLength() {
+        return maxInputLength;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    public int getMaxNumberLength() {
+        return maxNumberLength;
+    }
+
+    public long getMaxTokens() {
+        return maxTokens;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ParseLimits other
+                && maxInputLength == other.maxInputLength
+                && maxDepth == other.maxDepth
+                && maxStringLength == other.maxStringLength
+                && maxNumberLength == other.maxNumberLength
+                && maxTokens == other.maxTokens;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxInputLength, maxDepth, maxStringLength, maxNumberLength, maxTokens);
+    }
+
+    @Override
+    public String toString() {
+        return "ParseLimits{maxInputLength=" + maxInputLength + ", maxDepth=" + maxDepth
+                + ", maxStringLength=" + maxStringLength + ", maxNumberLength=" + maxNumberLength
+                + ", maxTokens=" + maxTokens + "}";
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be greater than zero");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates order numbers from a 63-bit id made of a millisecond timestamp, a node id
+ * and a per-millisecond sequence, in the style of Twitter's Snowflake:
+ * <pre>
+ *   | 41 bits: ms since 2024-01-01 | 10 bits: node id | 12 bits: sequence |
+ * </pre>
+ * Every instance of the application needs its own node id ({@code order.number.node-id}).
+ * With that, numbers are unique without any coordination, and ids from one node never
+ * repeat, even if the clock moves backwards or more than 4096 orders are created in one
+ * millisecond: the generator then keeps counting past the clock instead of waiting.
+ * <p>
+ * The id is written as 13 Crockford base32 characters after {@code ORD-}. The width is
+ * fixed, so order numbers sort in the same order as they were generated.
+ */
+@Component
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int TIMESTAMP_BITS = 63 - NODE_BITS - SEQUENCE_BITS;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final String PREFIX = "ORD-";
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence); only ever moves forward
+    private final AtomicLong lastTick = new AtomicLong();
+
+    @Autowired
+    public SnowflakeOrderNumberGenerator(@Value("${order.number.node-id:0}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * Create a generator with an explicit millisecond clock, mainly for tests
+     *
+     * @param nodeId the id of this node, between 0 and {@link #MAX_NODE_ID}
+     * @param clock the wall clock in epoch milliseconds
+     */
+    public SnowflakeOrderNumberGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        return format(nextId());
+    }
+
+    /**
+     * Reserve the whole block of ids with one update of the shared counter
+     */
+    @Override
+    public List<String> nextOrderNumbers(int count) {
+        List<String> orderNumbers = new ArrayList<>(count);
+        if (count <= 0) {
+            return orderNumbers;
+        }
+        long first = reserve(count);
+        for (int i = 0; i < count; i++) {
+            orderNumbers.add(format(toId(first + i)));
+        }
+        return orderNumbers;
+    }
+
+    /**
+     * Generate the next raw id without formatting it
+     *
+     * @return a positive id, greater than every id this generator returned before
+     */
+    public long nextId() {
+        return toId(reserve(1));
+    }
+
+    /**
+     * Reserve consecutive ticks and return the first one
+     */
+    private long reserve(int count) {
+        while (true) {
+            long previous = lastTick.get();
+            long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            // Start a new millisecond if the clock has moved on, otherwise take the next
+            // sequence number, which rolls over into the next millisecond when exhausted
+            long first = Math.max(now, previous + 1);
+            if (lastTick.compareAndSet(previous, first + count - 1)) {
+                return first;
+            }
+        }
+    }
+
+    private long toId(long tick) {
+        long timestamp = tick >>> SEQUENCE_BITS;
+        if (timestamp >>> TIMESTAMP_BITS != 0) {
+            throw new IllegalStateException("Order number timestamp overflow");
+        }
+        long sequence = tick & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Format an id as an order number
+     *
+     * @param id a non-negative id
+     * @return the order number
+     */
+    public static String format(long id) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
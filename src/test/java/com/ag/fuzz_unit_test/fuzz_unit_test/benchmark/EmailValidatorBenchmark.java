@@ -0,0 +1,106 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.benchmark;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.support.LegacyEmailValidator;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.EmailValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass {@link EmailValidator} with the original check.
+ * <p>
+ * Run {@link #main(String[])} from the IDE, or from Maven with {@code mvn test-compile exec:exec
+ * -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main EmailValidatorBenchmark"}.
+ * "valid" is the signup hot path; "mixed" also exercises every rejection branch,
+ * where both sides pay for the exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailValidatorBenchmark {
+
+    private static final String[] VALID = {
+            "user@example.com",
+            "first.last+tag@mail.example.org",
+            "a@b.co",
+            "very.long.local.part.with.many.dots@sub.domain.company.co.uk",
+    };
+
+    private static final String[] MIXED = {
+            "user@example.com",
+            "userexample.com",
+            "a@b@c.com",
+            "@example.com",
+            "user@localhost",
+            "us er@example.com",
+            "user@.example.com",
+            ".user@example.com",
+            "user@example.test",
+            "x".repeat(250) + "@example.com",
+    };
+
+    @Param({"valid", "mixed"})
+    public String inputs;
+
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        emails = "valid".equals(inputs) ? VALID : MIXED;
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String email : emails) {
+            try {
+                LegacyEmailValidator.validate(email);
+                blackhole.consume(true);
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (String email : emails) {
+            try {
+                EmailValidator.validate(email);
+                blackhole.consume(true);
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void singlePassWithoutException(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(EmailValidator.check(email));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailValidatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
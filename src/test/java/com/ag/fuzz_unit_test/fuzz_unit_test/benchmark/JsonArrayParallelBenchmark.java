@@ -0,0 +1,90 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.benchmark;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a large top-level array on one thread with parsing its elements
+ * in parallel on a pool of {@code threads} workers.
+ * <p>
+ * With {@code threads=1} the parallel mode shows the cost of the boundary scan on its
+ * own; the other values show how it scales with cores. Threads beyond the number of
+ * available cores only add overhead, so compare the rows up to that number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonArrayParallelBenchmark {
+
+    @Param({"10000", "200000"})
+    public int records;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private final JsonParser jsonParser = new JsonParser(new ObjectMapper());
+
+    private byte[] bytes;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"orderNumber\":\"ORD-").append(i)
+                    .append("\",\"status\":\"PENDING\",\"totalAmount\":").append(i % 1000).append(".99")
+                    .append(",\"shippingAddress\":\"").append(i).append(" Main St, \\\"Apt\\\" 4\"")
+                    .append(",\"items\":[{\"sku\":\"A-1\",\"quantity\":2},{\"sku\":\"B-2\",\"quantity\":1}]}");
+        }
+        bytes = builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public JsonNode sequential() throws IOException {
+        return jsonParser.parse(bytes);
+    }
+
+    @Benchmark
+    public JsonNode parallel() throws IOException {
+        return jsonParser.parseArrayParallel(bytes, pool);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonArrayParallelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,130 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.benchmark;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonParser;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonPath;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonTape;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares extracting one field from a parsed tree with extracting it from the token stream.
+ * <p>
+ * Run {@link #main(String[])}, which adds the GC profiler: its {@code gc.alloc.rate.norm}
+ * column is the number of bytes allocated per extraction. For the tree it grows with
+ * {@code records}; for the stream it stays flat, even when the field is the last one
+ * in the document. Also runnable from Maven like {@link EmailValidatorBenchmark}.
+ * <p>
+ * The {@code indexed} and {@code prebuiltTree} methods cover a document that is queried
+ * many times: both are built once in the setup, so they measure the lookup alone.
+ * <p>
+ * The {@code prebuiltTreeId} methods compare reading a number as text and parsing it
+ * back with reading it typed; the typed read allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonExtractBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int records;
+
+    private final JsonParser jsonParser = new JsonParser(new ObjectMapper());
+
+    private String json;
+    private byte[] bytes;
+    private JsonNode tree;
+    private JsonTape tape;
+    private JsonPath lastId;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder builder = new StringBuilder("{\"header\":{\"id\":1,\"source\":\"benchmark\"},\"records\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                    .append(",\"name\":\"record ").append(i)
+                    .append("\",\"tags\":[\"a\",\"b\"],\"price\":").append(i % 100).append(".25}");
+        }
+        json = builder.append("],\"footer\":{\"count\":").append(records).append("}}").toString();
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        tree = jsonParser.parse(bytes);
+        tape = jsonParser.index(bytes);
+        lastId = jsonParser.compilePath("records[" + (records - 1) + "].id");
+    }
+
+    @Benchmark
+    public String treeFirstField() throws IOException {
+        return jsonParser.extractValue(jsonParser.parse(json), "header.id");
+    }
+
+    @Benchmark
+    public String treeLastField() throws IOException {
+        return jsonParser.extractValue(jsonParser.parse(json), "footer.count");
+    }
+
+    @Benchmark
+    public String streamFirstField() throws IOException {
+        return jsonParser.extractValue(bytes, "header.id");
+    }
+
+    @Benchmark
+    public String streamLastField() throws IOException {
+        return jsonParser.extractValue(bytes, "footer.count");
+    }
+
+    @Benchmark
+    public String prebuiltTreeLastRecord() {
+        return jsonParser.extractValue(tree, "records[" + (records - 1) + "].name");
+    }
+
+    @Benchmark
+    public String indexedLastRecord() throws IOException {
+        return jsonParser.extractValue(tape, "records[" + (records - 1) + "].name");
+    }
+
+    @Benchmark
+    public String indexedLastField() throws IOException {
+        return jsonParser.extractValue(tape, "footer.count");
+    }
+
+    @Benchmark
+    public long prebuiltTreeIdAsText() {
+        return Long.parseLong(jsonParser.extractValue(tree, lastId));
+    }
+
+    @Benchmark
+    public long prebuiltTreeIdTyped() {
+        return jsonParser.extractLong(tree, lastId, -1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonExtractBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.benchmark;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a document held as bytes by decoding it to a String first, which was
+ * the only option before, with handing the bytes to the byte-based parser directly.
+ * <p>
+ * The document is an array of records with a 1 KiB text field, the shape of a typical
+ * bulk upload. Run {@link #main(String[])}, which adds the GC profiler; the 1 GiB case
+ * needs the large heap the fork is given. Sizes can be picked with {@code -p sizeMb=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class JsonInputBenchmark {
+
+    private static final String PAYLOAD = "lorem ipsum dolor sit amet ".repeat(38);
+
+    @Param({"1", "64", "1024"})
+    public int sizeMb;
+
+    private final JsonParser jsonParser = new JsonParser(new ObjectMapper());
+
+    private byte[] bytes;
+    private Path file;
+    private FileChannel channel;
+    private ByteBuffer mapped;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        long target = sizeMb * 1024L * 1024L;
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(target + 4096, Integer.MAX_VALUE - 8));
+        out.write('[');
+        for (int i = 0; out.size() < target - 2048; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(("{\"id\":" + i + ",\"payload\":\"" + PAYLOAD + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        out.write(']');
+        bytes = out.toByteArray();
+
+        file = Files.createTempFile("json-input-benchmark", ".json");
+        Files.write(file, bytes);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public JsonNode decodedString() throws IOException {
+        return jsonParser.parse(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public JsonNode byteArray() throws IOException {
+        return jsonParser.parse(bytes);
+    }
+
+    @Benchmark
+    public JsonNode mappedBuffer() throws IOException {
+        return jsonParser.parse(mapped);
+    }
+
+    @Benchmark
+    public JsonNode inputStream() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return jsonParser.parse(in);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonInputBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.fuzz;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.support.LegacyEmailValidator;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.EmailValidator;
+import com.code_intelligence.jazzer.api.FuzzedDataProvider;
+import com.code_intelligence.jazzer.junit.FuzzTest;
+
+import java.util.Objects;
+
+public class EmailValidatorFuzzTest {
+
+    /**
+     * Differential target: the single-pass validator must accept and reject exactly
+     * what the original implementation does, with the same message.
+     */
+    @FuzzTest
+    void singlePassMatchesLegacy(FuzzedDataProvider data) {
+        String email = data.consumeRemainingAsString();
+
+        String expected = legacyError(email);
+        String actual = EmailValidator.check(email);
+
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError("Validators disagree on [" + email + "]: legacy=" + expected
+                    + ", single-pass=" + actual);
+        }
+    }
+
+    private static String legacyError(String email) {
+        try {
+            LegacyEmailValidator.validate(email);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.ag.fuzz_unit_test.fuzz_unit_test.fuzz;
 
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderRepository;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.UserRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderRevenueService;
 import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderService;
 import com.ag.fuzz_unit_test.fuzz_unit_test.service.UserService;
 import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonParser;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.SnowflakeOrderNumberGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -33,13 +35,14 @@ public class FuzzTestConfig {
     @Bean
     @Primary
     public UserService userService() {
-        return new UserService(userRepository);
+        return new UserService(userRepository, orderService());
     }
 
     @Bean
     @Primary
     public OrderService orderService() {
-        return new OrderService(orderRepository, userRepository);
+        return new OrderService(orderRepository, userRepository, new SnowflakeOrderNumberGenerator(0),
+                Mockito.mock(OrderRevenueService.class));
     }
 
     @Bean
@@ -1,6 +1,9 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.fuzz;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonLimitExceededException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonParser;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonPathException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.ParseLimits;
 import com.code_intelligence.jazzer.api.FuzzedDataProvider;
 import com.code_intelligence.jazzer.junit.FuzzTest;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -69,6 +72,25 @@ public class JsonParserFuzzTest {
         }
     }
 
+    @FuzzTest
+    void testLimitedJsonParsing(FuzzedDataProvider data) {
+        ParseLimits limits = ParseLimits.DEFAULT.withMaxDepth(data.consumeInt(1, 64))
+                .withMaxStringLength(data.consumeInt(1, 4096))
+                .withMaxTokens(data.consumeInt(1, 10_000));
+        String jsonInput = data.consumeRemainingAsString();
+
+        try {
+            JsonNode node = jsonParser.parse(jsonInput, limits);
+            if (node.isContainerNode() && node.size() > limits.getMaxTokens()) {
+                throw new AssertionError("Token limit not enforced for input of length " + jsonInput.length());
+            }
+        } catch (JsonLimitExceededException e) {
+            // Expected for inputs beyond the limits
+        } catch (JsonProcessingException e) {
+            // Expected exception for invalid JSON
+        }
+    }
+
     @FuzzTest
     void testJsonPathExtraction(FuzzedDataProvider data) {
         // Generate a small, valid JSON object for testing
@@ -85,8 +107,8 @@ public class JsonParserFuzzTest {
                 // Try to extract using the fuzzed path
                 String result = jsonParser.extractValue(node, path);
                 // No need to assert anything particular about the result
-            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-                // These are expected exceptions for certain paths
+            } catch (JsonPathException e) {
+                // Malformed paths are rejected when they are compiled
             } catch (Exception e) {
                 // Other exceptions might indicate bugs
                 throw new AssertionError("Unexpected exception: " + e.getMessage(), e);
@@ -0,0 +1,73 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.support;
+
+/**
+ * Reference copy of the original multi-pass email check. It is kept as the
+ * baseline for the benchmark and as the oracle for the unit and differential fuzz
+ * tests of {@link com.ag.fuzz_unit_test.fuzz_unit_test.util.EmailValidator}.
+ */
+public final class LegacyEmailValidator {
+
+    private LegacyEmailValidator() {
+    }
+
+    /**
+     * Validates email format, exactly as UserService did before it switched to EmailValidator.
+     *
+     * @param email the email to validate
+     * @throws IllegalArgumentException if the email format is invalid
+     */
+    public static void validate(String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("Email cannot be null");
+        }
+
+        if (!email.contains("@")) {
+            throw new IllegalArgumentException("Email must contain @");
+        }
+
+        String[] parts = email.split("@");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Email must contain exactly one @");
+        }
+
+        String localPart = parts[0];
+        String domainPart = parts[1];
+
+        if (localPart.isEmpty()) {
+            throw new IllegalArgumentException("Local part of email cannot be empty");
+        }
+
+        if (domainPart.isEmpty()) {
+            throw new IllegalArgumentException("Domain part of email cannot be empty");
+        }
+
+        if (!domainPart.contains(".")) {
+            throw new IllegalArgumentException("Domain part must contain a dot");
+        }
+
+        // More complex validation that could have edge cases
+        if (email.length() > 254) {
+            throw new IllegalArgumentException("Email is too long");
+        }
+
+        // Check for illegal characters (simplified)
+        if (email.contains(" ")) {
+            throw new IllegalArgumentException("Email cannot contain spaces");
+        }
+
+        // Additional validation that could introduce subtle bugs
+        if (domainPart.startsWith(".") || domainPart.endsWith(".")) {
+            throw new IllegalArgumentException("Domain part cannot start or end with a dot");
+        }
+
+        if (localPart.startsWith(".") || localPart.endsWith(".")) {
+            throw new IllegalArgumentException("Local part cannot start or end with a dot");
+        }
+
+        // This is a deliberate bug for fuzz testing to find
+        // It will incorrectly reject emails with certain TLDs
+        if (domainPart.endsWith(".test") || domainPart.endsWith(".example")) {
+            throw new IllegalArgumentException("Invalid TLD");
+        }
+    }
+}
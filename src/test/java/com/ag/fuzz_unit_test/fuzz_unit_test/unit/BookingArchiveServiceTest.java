@@ -0,0 +1,90 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.BookingStatus;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingArchiveRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.BookingArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingArchiveServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingArchiveService bookingArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        bookingArchiveService = new BookingArchiveService(bookingRepository, bookingArchiveRepository,
+                transactionManager, 30, 2);
+    }
+
+    @Test
+    void archiveBookings_ShouldMoveBatchesUntilNoneLeft() {
+        // Arrange
+        LocalDate today = LocalDate.of(2024, 6, 30);
+        LocalDate cutoff = LocalDate.of(2024, 5, 31);
+        when(bookingRepository.findArchivableIds(eq(Set.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED)),
+                eq(cutoff), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        // Act
+        int archived = bookingArchiveService.archiveBookings(today);
+
+        // Assert
+        assertEquals(3, archived);
+        InOrder inOrder = inOrder(bookingArchiveRepository, bookingRepository);
+        inOrder.verify(bookingArchiveRepository).copyFromBookings(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        inOrder.verify(bookingRepository).deleteAllByIdIn(List.of(1L, 2L));
+        inOrder.verify(bookingArchiveRepository).copyFromBookings(eq(List.of(3L)), any(LocalDateTime.class));
+        inOrder.verify(bookingRepository).deleteAllByIdIn(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void archiveBookings_WhenBatchIsExactlyFull_ShouldCheckForMore() {
+        // Arrange
+        when(bookingRepository.findArchivableIds(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of());
+
+        // Act
+        int archived = bookingArchiveService.archiveBookings(LocalDate.of(2024, 6, 30));
+
+        // Assert
+        assertEquals(2, archived);
+        verify(bookingRepository, times(2)).findArchivableIds(any(), any(), any(Pageable.class));
+        verify(bookingRepository, times(1)).deleteAllByIdIn(any());
+    }
+
+    @Test
+    void constructor_WithInvalidBatchSize_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingArchiveService(
+                bookingRepository, bookingArchiveRepository, transactionManager, 30, 0));
+    }
+}
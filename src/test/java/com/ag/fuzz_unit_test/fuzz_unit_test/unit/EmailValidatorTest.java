@@ -0,0 +1,64 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.support.LegacyEmailValidator;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.EmailValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailValidatorTest {
+
+    @Test
+    void check_WhenEmailIsValid_ShouldReturnNull() {
+        assertNull(EmailValidator.check("user@example.com"));
+        assertTrue(EmailValidator.isValid("first.last+tag@mail.example.org"));
+    }
+
+    @Test
+    void check_ShouldReportFirstBrokenRule() {
+        assertEquals(EmailValidator.NULL_EMAIL, EmailValidator.check(null));
+        assertEquals(EmailValidator.MISSING_AT, EmailValidator.check("userexample.com"));
+        assertEquals(EmailValidator.NOT_ONE_AT, EmailValidator.check("a@b@c.com"));
+        assertEquals(EmailValidator.NOT_ONE_AT, EmailValidator.check("user@"));
+        assertEquals(EmailValidator.NOT_ONE_AT, EmailValidator.check("@@"));
+        assertEquals(EmailValidator.EMPTY_LOCAL_PART, EmailValidator.check("@example.com"));
+        assertEquals(EmailValidator.DOMAIN_WITHOUT_DOT, EmailValidator.check("user@localhost"));
+        assertEquals(EmailValidator.TOO_LONG, EmailValidator.check("x".repeat(250) + "@example.com"));
+        assertEquals(EmailValidator.CONTAINS_SPACE, EmailValidator.check("us er@example.com"));
+        assertEquals(EmailValidator.DOMAIN_DOT_AT_EDGE, EmailValidator.check("user@example.com."));
+        assertEquals(EmailValidator.LOCAL_DOT_AT_EDGE, EmailValidator.check("user.@example.com"));
+        assertEquals(EmailValidator.INVALID_TLD, EmailValidator.check("user@example.test"));
+        assertEquals(EmailValidator.INVALID_TLD, EmailValidator.check("user@mail.example"));
+    }
+
+    @Test
+    void check_WithTrailingAtSigns_ShouldIgnoreThemLikeSplit() {
+        // String.split drops trailing empty strings, so the original accepted these
+        assertNull(EmailValidator.check("user@example.com@"));
+        assertNull(EmailValidator.check("user@example.com@@@"));
+        assertEquals(EmailValidator.INVALID_TLD, EmailValidator.check("user@example.test@"));
+    }
+
+    @Test
+    void check_ShouldAgreeWithLegacyImplementation() {
+        List<String> emails = Arrays.asList(
+                null, "", "@", "a@", "@a", "a@b", "a@.b", "a@b.", ".a@b.c", "a.@b.c", "a@b.c",
+                "a@@b.c", "a@b.c@", "a@b.c@@", "a@b@.c@", " a@b.c", "a@b.c ", "a@b .c",
+                "a@\nb.c", "a@x.test", "a@.test", "a@test", "a@b.example@", "x".repeat(243) + "@example.com",
+                "x".repeat(242) + "@example.com@", "a@b.c" + "@".repeat(300), "<script>@example.com");
+
+        for (String email : emails) {
+            String expected;
+            try {
+                LegacyEmailValidator.validate(email);
+                expected = null;
+            } catch (IllegalArgumentException e) {
+                expected = e.getMessage();
+            }
+            assertEquals(expected, EmailValidator.check(email), "email: " + email);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonFeedSession;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonLimitExceededException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonParser;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonPath;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonPathException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonRecord;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonTape;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.ParseLimits;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonParserTest {
+
+    private static final String DOCUMENT = "{\"name\":\"John\",\"age\":30,\"price\":1.50,\"big\":12345678901234567890,"
+            + "\"active\":true,\"none\":null,\"skip\":{\"deep\":[{\"a\":1},[2,3]]},"
+            + "\"nested\":{\"field\":\"value\",\"list\":[{\"id\":7},{\"id\":8}]},"
+            + "\"array\":[1,2,3],\"\":{\"x\":\"empty key\"},\"text\":\"caf\\u00e9 \\\"q\\\"\"}";
+
+    private final JsonParser jsonParser = new JsonParser(new ObjectMapper());
+
+    @Test
+    void extractValue_FromStream_ShouldMatchTreeExtraction() throws IOException {
+        JsonNode tree = jsonParser.parse(DOCUMENT);
+        List<String> paths = List.of("name", "age", "price", "big", "active", "none", "text",
+                "nested", "nested.field", "nested.list[1].id", "nested.list[2].id", "nested.list[0][0]",
+                "array[0]", "array[2]", "array[3]", "array", "skip.deep[1]", "missing", "name.first",
+                "array.length", "[0]", "skip.deep[1][1]", "skip.deep[0].a", "age[0]", "nested[0]");
+
+        for (String path : paths) {
+            String expected = jsonParser.extractValue(tree, path);
+            assertEquals(expected, jsonParser.extractValue(bytes(DOCUMENT), path), path);
+            assertEquals(expected, jsonParser.extractValue(stream(DOCUMENT), path), path);
+        }
+    }
+
+    @Test
+    void extractValue_FromStream_ShouldStopOnceThePathResolves() throws IOException {
+        // Everything after the value is never read, so it may even be broken
+        String truncated = "{\"skip\":[1,{\"a\":[2]}],\"id\":42,\"rest\":[1,2,";
+
+        assertEquals("42", jsonParser.extractValue(bytes(truncated), "id"));
+        assertThrows(JsonProcessingException.class, () -> jsonParser.extractValue(bytes(truncated), "other"));
+    }
+
+    @Test
+    void extractValue_FromStream_WithInvalidInput_ShouldReturnNullOrThrow() throws IOException {
+        assertNull(jsonParser.extractValue((byte[]) null, "a"));
+        assertNull(jsonParser.extractValue(bytes("{}"), ""));
+        assertNull(jsonParser.extractValue(bytes(""), "a"));
+        assertThrows(JsonPathException.class, () -> jsonParser.extractValue(bytes("{\"a\":[1]}"), "a[x]"));
+    }
+
+    @Test
+    void extractValues_ShouldMatchSinglePathExtraction() throws IOException {
+        JsonNode tree = jsonParser.parse(DOCUMENT);
+        List<String> paths = List.of("nested.list[1].id", "name", "nested", "nested.field", "nested.list[0].id",
+                "array[2]", "array[7]", "skip.deep[1][0]", "missing.x", "none", "name", "big", "[0]");
+
+        Map<String, String> fromTree = jsonParser.extractValues(tree, paths);
+        Map<String, String> fromBytes = jsonParser.extractValues(bytes(DOCUMENT), paths);
+        Map<String, String> fromStream = jsonParser.extractValues(stream(DOCUMENT), paths);
+
+        assertEquals(List.copyOf(new LinkedHashSet<>(paths)), List.copyOf(fromTree.keySet()));
+        for (String path : paths) {
+            String expected = jsonParser.extractValue(tree, path);
+            assertEquals(expected, fromTree.get(path), path);
+            assertEquals(expected, fromBytes.get(path), path);
+            assertEquals(expected, fromStream.get(path), path);
+        }
+    }
+
+    @Test
+    void extractValues_FromStream_ShouldStopOnceAllPathsResolve() throws IOException {
+        String truncated = "{\"a\":{\"x\":1,\"y\":[5,6]},\"skip\":{\"z\":[1]},\"b\":\"two\",\"rest\":[1,";
+
+        Map<String, String> values = jsonParser.extractValues(bytes(truncated), List.of("b", "a.y[1]", "a.x"));
+
+        assertEquals(Map.of("b", "two", "a.y[1]", "6", "a.x", "1"), values);
+        assertThrows(JsonProcessingException.class,
+                () -> jsonParser.extractValues(bytes(truncated), List.of("b", "other")));
+    }
+
+    @Test
+    void extractValues_AfterSubtreeResolves_ShouldSkipItsRestAndGoOn() throws IOException {
+        String json = "{\"a\":{\"x\":1,\"y\":{\"x\":[2]},\"z\":[3,{}]},"
+                + "\"list\":[[0],{\"id\":4},5,[6]],\"b\":{\"c\":7}}";
+        List<String> paths = List.of("a.x", "list[1].id", "b.c", "a.w");
+        JsonNode tree = jsonParser.parse(json);
+
+        Map<String, String> values = jsonParser.extractValues(bytes(json), paths);
+
+        assertEquals(jsonParser.extractValues(tree, paths), values);
+        assertEquals("1", values.get("a.x"));
+        assertEquals("7", values.get("b.c"));
+        assertNull(values.get("a.w"));
+    }
+
+    @Test
+    void extractValue_WithMalformedPath_ShouldThrowPathException() throws IOException {
+        JsonNode tree = jsonParser.parse(DOCUMENT);
+
+        for (String path : List.of("a[x]", "a[-1]", "a[1", "a]", "a..b", ".a", "a.", "a[99999999999]")) {
+            assertThrows(JsonPathException.class, () -> jsonParser.extractValue(tree, path), path);
+        }
+    }
+
+    @Test
+    void compilePath_ShouldReuseCompiledPath() {
+        JsonPath first = jsonParser.compilePath("nested.list[1].id");
+
+        assertSame(first, jsonParser.compilePath("nested.list[1].id"));
+        assertEquals("7", jsonParser.extractValue(parseUnchecked(DOCUMENT), jsonParser.compilePath("nested.list[0].id")));
+    }
+
+    @Test
+    void extractTyped_ShouldReadValuesWithoutText() throws IOException {
+        JsonNode tree = jsonParser.parse(DOCUMENT);
+        byte[] bytes = bytes(DOCUMENT);
+
+        assertEquals(OptionalLong.of(30), jsonParser.extractLong(tree, "age"));
+        assertEquals(OptionalLong.of(30), jsonParser.extractLong(bytes, "age"));
+        assertEquals(OptionalLong.of(8), jsonParser.extractLong(bytes, "nested.list[1].id"));
+        assertEquals(8, jsonParser.extractLong(tree, jsonParser.compilePath("nested.list[1].id"), -1));
+        for (String notALong : List.of("price", "big", "name", "none", "active", "nested", "missing")) {
+            assertEquals(OptionalLong.empty(), jsonParser.extractLong(tree, notALong), notALong);
+            assertEquals(OptionalLong.empty(), jsonParser.extractLong(bytes, notALong), notALong);
+            assertEquals(-1, jsonParser.extractLong(tree, jsonParser.compilePath(notALong), -1), notALong);
+        }
+
+        assertEquals(OptionalDouble.of(1.5), jsonParser.extractDouble(tree, "price"));
+        assertEquals(OptionalDouble.of(1.5), jsonParser.extractDouble(bytes, "price"));
+        assertEquals(OptionalDouble.of(30), jsonParser.extractDouble(bytes, "age"));
+        assertEquals(1.2345678901234567e19, jsonParser.extractDouble(tree, jsonParser.compilePath("big"), 0));
+        assertEquals(OptionalDouble.empty(), jsonParser.extractDouble(tree, "name"));
+        assertEquals(OptionalDouble.empty(), jsonParser.extractDouble(bytes, "array"));
+
+        assertEquals(new BigDecimal("1.5"), jsonParser.extractDecimal(tree, "price"));
+        // From the stream the digits are kept as written
+        assertEquals(new BigDecimal("1.50"), jsonParser.extractDecimal(bytes, "price"));
+        assertEquals(new BigDecimal("12345678901234567890"), jsonParser.extractDecimal(bytes, "big"));
+        assertEquals(new BigDecimal("12345678901234567890"), jsonParser.extractDecimal(tree, "big"));
+        assertNull(jsonParser.extractDecimal(tree, "active"));
+        assertNull(jsonParser.extractDecimal(bytes, "missing"));
+
+        assertEquals(Boolean.TRUE, jsonParser.extractBoolean(tree, "active"));
+        assertEquals(Boolean.TRUE, jsonParser.extractBoolean(bytes, "active"));
+        assertEquals(Boolean.FALSE, jsonParser.extractBoolean(bytes("[false]"), "[0]"));
+        assertNull(jsonParser.extractBoolean(tree, "name"));
+        assertNull(jsonParser.extractBoolean(bytes, "none"));
+    }
+
+    @Test
+    void parse_FromBytes_ShouldMatchParseFromString(@TempDir Path tempDir) throws IOException {
+        JsonNode expected = jsonParser.parse(DOCUMENT);
+        byte[] bytes = bytes(DOCUMENT);
+        byte[] padded = bytes("  xx" + DOCUMENT + "yy");
+        ByteBuffer heap = ByteBuffer.wrap(padded, 4, bytes.length).slice();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2).put((byte) '!').put(bytes);
+        direct.flip().position(1);
+        Path file = Files.write(tempDir.resolve("document.json"), bytes);
+
+        assertEquals(expected, jsonParser.parse(bytes));
+        assertEquals(expected, jsonParser.parse(padded, 4, bytes.length));
+        assertEquals(expected, jsonParser.parse(heap));
+        assertEquals(expected, jsonParser.parse(direct));
+        assertEquals(1, direct.position());
+        assertEquals(expected, jsonParser.parse(stream(DOCUMENT)));
+        assertEquals(expected, jsonParser.parse(file));
+        assertEquals(expected, jsonParser.parse(bytes, ParseLimits.DEFAULT));
+        assertEquals(expected, jsonParser.parse(direct, ParseLimits.DEFAULT));
+        assertThrows(JsonLimitExceededException.class,
+                () -> jsonParser.parse(direct, ParseLimits.DEFAULT.withMaxInputLength(10)));
+    }
+
+    @Test
+    void extractValue_FromTape_ShouldMatchTreeExtraction() throws IOException {
+        String document = DOCUMENT.substring(0, DOCUMENT.length() - 1)
+                + ",\"dup\":1,\"dup\":2,\"ca\\u0066\\u00e9\":\"escaped name\",\"über\":\"été\"}";
+        JsonNode tree = jsonParser.parse(document);
+        List<String> paths = List.of("name", "age", "price", "big", "active", "none", "text",
+                "nested", "nested.field", "nested.list[1].id", "nested.list[2].id", "nested.list[0][0]",
+                "array[0]", "array[2]", "array[3]", "array", "skip.deep[1]", "missing", "name.first",
+                "[0]", "skip.deep[1][1]", "skip.deep[0].a", "age[0]", "nested[0]",
+                "dup", "café", "über", "na", "names");
+        JsonTape tape = jsonParser.index(bytes(document));
+
+        for (String path : paths) {
+            assertEquals(jsonParser.extractValue(tree, path), jsonParser.extractValue(tape, path), path);
+        }
+        assertTrue(tape.indexSizeInBytes() < document.length() * 9L);
+    }
+
+    @Test
+    void index_ShouldHandleScalarsEmptyAndInvalidInput() throws IOException {
+        // Only the first value is indexed, as in parse
+        assertEquals(1, jsonParser.index(bytes(" 5 [")).size());
+        assertNull(jsonParser.extractValue(jsonParser.index(bytes(" 5 [")), "[0]"));
+        assertEquals(1, jsonParser.index(bytes("\"s\" {}")).size());
+        assertNull(jsonParser.extractValue(jsonParser.index(bytes("")), "a"));
+        assertThrows(JsonProcessingException.class, () -> jsonParser.index(bytes("{\"a\":[1,2}")));
+        assertThrows(JsonProcessingException.class, () -> jsonParser.index(bytes("{\"a\":[1,2]")));
+        assertThrows(JsonProcessingException.class,
+                () -> jsonParser.index("{\"a\":1}".getBytes(StandardCharsets.UTF_16)));
+    }
+
+    @Test
+    void parseArrayParallel_ShouldMatchParse() throws IOException {
+        StringBuilder large = new StringBuilder("\uFEFF [");
+        for (int i = 0; i < 20_000; i++) {
+            large.append(i > 0 ? " ,\n" : "").append(i % 2 == 0 ? DOCUMENT : "[\"a,]}\\\\\",{\"b\\\"[\":[" + i + "]}]");
+        }
+        large.append("]  ");
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (String json : List.of(large.toString(), "[]", " [ ] ", "[1]", "[\"é,\",{},[[]]]", DOCUMENT, "7")) {
+                assertEquals(jsonParser.parse(bytes(json)), jsonParser.parseArrayParallel(bytes(json), pool), json);
+            }
+            for (String json : List.of("[1,,2]", "[1,]", "[1 2]", "[1,{]", "[1,2", "[\"a]")) {
+                assertThrows(JsonProcessingException.class, () -> jsonParser.parse(bytes(json)), json);
+                assertThrows(JsonProcessingException.class, () -> jsonParser.parseArrayParallel(bytes(json), pool), json);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void feedSession_ShouldReturnValuesAsTheyComplete() throws IOException {
+        byte[] body = bytes(DOCUMENT + "\n[1,{\"x\":[]}] \"é\" 42");
+        List<JsonNode> expected = List.of(jsonParser.parse(DOCUMENT), jsonParser.parse("[1,{\"x\":[]}]"),
+                jsonParser.parse("\"é\""), jsonParser.parse("42"));
+
+        for (int chunkSize : List.of(1, 7, body.length)) {
+            List<JsonNode> values = new ArrayList<>();
+            try (JsonFeedSession session = jsonParser.openFeedSession(ParseLimits.DEFAULT)) {
+                for (int offset = 0; offset < body.length; offset += chunkSize) {
+                    values.addAll(session.feed(body, offset, Math.min(chunkSize, body.length - offset)));
+                }
+                // The trailing number only completes once the end of the body is known
+                assertEquals(3, values.size());
+                values.addAll(session.finish());
+                assertEquals(body.length, session.getBytesFed());
+            }
+            assertEquals(expected, values, "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    void feedSession_ShouldEnforceLimitsAndCloseOnError() throws IOException {
+        assertFeedLimit(ParseLimits.Limit.NESTING_DEPTH, ParseLimits.DEFAULT.withMaxDepth(2), "[[[1]]]");
+        assertFeedLimit(ParseLimits.Limit.NUMBER_LENGTH, ParseLimits.DEFAULT.withMaxNumberLength(3), "[12345]");
+        assertFeedLimit(ParseLimits.Limit.STRING_LENGTH, ParseLimits.DEFAULT.withMaxStringLength(3), "{\"long\":1}");
+        assertFeedLimit(ParseLimits.Limit.TOKEN_COUNT, ParseLimits.DEFAULT.withMaxTokens(3), "[1] [2]");
+        assertFeedLimit(ParseLimits.Limit.INPUT_LENGTH, ParseLimits.DEFAULT.withMaxInputLength(4), "[1,2]");
+
+        JsonFeedSession truncated = jsonParser.openFeedSession(ParseLimits.DEFAULT);
+        assertEquals(List.of(), truncated.feed(bytes("{\"a\":[1,")));
+        assertThrows(JsonProcessingException.class, truncated::finish);
+        assertThrows(IllegalStateException.class, () -> truncated.feed(bytes("2]}")));
+
+        JsonFeedSession malformed = jsonParser.openFeedSession(ParseLimits.DEFAULT);
+        assertThrows(JsonProcessingException.class, () -> malformed.feed(bytes("[1,]")));
+        assertThrows(IllegalStateException.class, malformed::finish);
+    }
+
+    @Test
+    void parseWithLimits_WhenWithinLimits_ShouldMatchParse() throws IOException {
+        JsonNode expected = jsonParser.parse(DOCUMENT);
+
+        assertEquals(expected, jsonParser.parse(DOCUMENT, ParseLimits.DEFAULT));
+        assertEquals(expected, jsonParser.parse(stream(DOCUMENT), ParseLimits.DEFAULT));
+        assertTrue(jsonParser.parse("", ParseLimits.DEFAULT).isMissingNode());
+    }
+
+    @Test
+    void parseWithLimits_ShouldReportTheExceededLimit() {
+        ParseLimits small = ParseLimits.DEFAULT.withMaxDepth(3).withMaxStringLength(8)
+                .withMaxNumberLength(5).withMaxTokens(20).withMaxInputLength(200);
+
+        assertLimit(ParseLimits.Limit.NESTING_DEPTH, small, "[[[[1]]]]");
+        assertLimit(ParseLimits.Limit.STRING_LENGTH, small, "{\"a\":\"123456789\"}");
+        assertLimit(ParseLimits.Limit.STRING_LENGTH, small, "{\"123456789\":1}");
+        assertLimit(ParseLimits.Limit.NUMBER_LENGTH, small, "[123456]");
+        assertLimit(ParseLimits.Limit.TOKEN_COUNT, small, "[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20]");
+        assertLimit(ParseLimits.Limit.INPUT_LENGTH, small, "[" + " ".repeat(200) + "]");
+        // Two documents, each parsed from a String and from a stream
+        assertEquals(4, jsonParser.getLimitViolations(ParseLimits.Limit.STRING_LENGTH));
+    }
+
+    @Test
+    void parseWithLimits_FromStreamWithoutInputLimit_ShouldParse() throws IOException {
+        ParseLimits unlimited = ParseLimits.DEFAULT.withMaxInputLength(Long.MAX_VALUE);
+
+        assertEquals(jsonParser.parse(DOCUMENT), jsonParser.parse(stream(DOCUMENT), unlimited));
+    }
+
+    @Test
+    void parseWithLimits_FromEndlessStream_ShouldStopReadingAtTheLimit() {
+        long[] bytesRead = new long[1];
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return bytesRead[0]++ == 0 ? '[' : (bytesRead[0] % 2 == 0 ? '1' : ',');
+            }
+        };
+
+        JsonLimitExceededException e = assertThrows(JsonLimitExceededException.class,
+                () -> jsonParser.parse(endless, ParseLimits.DEFAULT.withMaxInputLength(10_000)));
+
+        assertEquals(ParseLimits.Limit.INPUT_LENGTH, e.getLimit());
+        assertTrue(bytesRead[0] <= 10_001, "read " + bytesRead[0] + " bytes");
+    }
+
+    @Test
+    void parseStream_ShouldIsolateBadLines() {
+        String ndjson = "{\"id\":1}\n"
+                + "\n"
+                + "{\"id\":\n"
+                + "{\"id\":3} {\"id\":4}\r\n"
+                + "[" + "1,".repeat(100) + "1]\n"
+                + "  {\"id\":6}  \r\n"
+                + "{\"id\":7}";
+
+        List<JsonRecord> records;
+        try (Stream<JsonRecord> stream = jsonParser.parseStream(stream(ndjson), ParseLimits.DEFAULT.withMaxInputLength(100))) {
+            records = stream.toList();
+        }
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L, 7L), records.stream().map(JsonRecord::getLineNumber).toList());
+        assertEquals(1, records.get(0).getValue().get("id").asInt());
+        assertFalse(records.get(1).isValid());
+        assertFalse(records.get(2).isValid());
+        assertEquals(ParseLimits.Limit.INPUT_LENGTH,
+                ((JsonLimitExceededException) records.get(3).getError()).getLimit());
+        assertEquals(6, records.get(4).getValue().get("id").asInt());
+        assertEquals(7, records.get(5).getValue().get("id").asInt());
+    }
+
+    @Test
+    void parseStream_InParallel_ShouldKeepInputOrder() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 5000; i++) {
+            ndjson.append(i % 1000 == 0 ? "{broken" : "{\"id\":" + i + ",\"pad\":\"" + "x".repeat(i % 50) + "\"}")
+                    .append('\n');
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (Stream<JsonRecord> stream = jsonParser.parseStream(
+                Channels.newChannel(stream(ndjson.toString())), ParseLimits.DEFAULT)) {
+            List<JsonRecord> sequential = stream.toList();
+            List<JsonRecord> parallel;
+            try (Stream<JsonRecord> parallelStream = jsonParser.parseStream(stream(ndjson.toString()),
+                    ParseLimits.DEFAULT, executor, 64)) {
+                parallel = parallelStream.toList();
+            }
+
+            assertEquals(5000, parallel.size());
+            assertEquals(5, parallel.stream().filter(record -> !record.isValid()).count());
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(i + 1, parallel.get(i).getLineNumber());
+                assertEquals(sequential.get(i).getValue(), parallel.get(i).getValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertLimit(ParseLimits.Limit expected, ParseLimits limits, String json) {
+        JsonLimitExceededException fromString = assertThrows(JsonLimitExceededException.class,
+                () -> jsonParser.parse(json, limits), json);
+        JsonLimitExceededException fromStream = assertThrows(JsonLimitExceededException.class,
+                () -> jsonParser.parse(stream(json), limits), json);
+        assertEquals(expected, fromString.getLimit(), json);
+        assertEquals(expected, fromStream.getLimit(), json);
+    }
+
+    private void assertFeedLimit(ParseLimits.Limit expected, ParseLimits limits, String json) throws IOException {
+        JsonFeedSession session = jsonParser.openFeedSession(limits);
+        JsonLimitExceededException e = assertThrows(JsonLimitExceededException.class, () -> {
+            // One byte at a time, so the limit is hit in the middle of the input
+            for (byte b : bytes(json)) {
+                session.feed(new byte[]{b});
+            }
+            session.finish();
+        }, json);
+        assertEquals(expected, e.getLimit(), json);
+        assertThrows(IllegalStateException.class, () -> session.feed(bytes(" ")), json);
+    }
+
+    private JsonNode parseUnchecked(String json) {
+        try {
+            return jsonParser.parse(json);
+        } catch (JsonProcessingException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(bytes(json));
+    }
+}
@@ -0,0 +1,67 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonPath;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonPathException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.JsonPathSet;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonPathTest {
+
+    @Test
+    void compile_ShouldSplitFieldAndIndexSteps() {
+        JsonPath path = JsonPath.compile("orders[2][0].items.sku");
+
+        assertEquals(5, path.length());
+        assertEquals("orders", path.fieldName(0));
+        assertTrue(path.isIndex(1));
+        assertEquals(2, path.index(1));
+        assertEquals(0, path.index(2));
+        assertEquals("items", path.fieldName(3));
+        assertEquals(-1, path.index(4));
+        assertNull(path.fieldName(1));
+    }
+
+    @Test
+    void compile_WithLeadingIndex_ShouldApplyItToTheRoot() throws Exception {
+        JsonNode root = new ObjectMapper().readTree("[{\"id\":1},{\"id\":2}]");
+
+        assertEquals(2, JsonPath.compile("[1].id").evaluate(root).asInt());
+        assertNull(JsonPath.compile("[2].id").evaluate(root));
+    }
+
+    @Test
+    void compile_WithMalformedPath_ShouldReportPosition() {
+        JsonPathException e = assertThrows(JsonPathException.class, () -> JsonPath.compile("items[x]"));
+        assertEquals(6, e.getPosition());
+        assertEquals("items[x]", e.getPath());
+
+        assertEquals(3, assertThrows(JsonPathException.class, () -> JsonPath.compile("a[1")).getPosition());
+        assertEquals(2, assertThrows(JsonPathException.class, () -> JsonPath.compile("a..b")).getPosition());
+        assertEquals(1, assertThrows(JsonPathException.class, () -> JsonPath.compile("a]")).getPosition());
+        assertThrows(JsonPathException.class, () -> JsonPath.compile("a[2147483648]"));
+        assertThrows(JsonPathException.class, () -> JsonPath.compile(""));
+        assertThrows(JsonPathException.class, () -> JsonPath.compile(null));
+    }
+
+    @Test
+    void pathSet_ShouldResolveDistinctPathsInOrder() throws Exception {
+        JsonNode root = new ObjectMapper().readTree("{\"a\":{\"b\":[10,20],\"c\":\"x\"}}");
+        JsonPathSet set = JsonPathSet.of(List.of(JsonPath.compile("a.c"), JsonPath.compile("a.b[1]"),
+                JsonPath.compile("a.c"), JsonPath.compile("a"), JsonPath.compile("a.d")));
+
+        JsonNode[] values = set.evaluate(root);
+
+        assertEquals(List.of("a.c", "a.b[1]", "a", "a.d"),
+                set.paths().stream().map(JsonPath::getExpression).toList());
+        assertEquals("x", values[0].asText());
+        assertEquals(20, values[1].asInt());
+        assertSame(root.get("a"), values[2]);
+        assertNull(values[3]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.LruCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LruCacheTest {
+
+    private AtomicLong clock;
+    private LruCache<String, Long> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        cache = new LruCache<>(2, Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void get_WhenEntryPresent_ShouldReturnValue() {
+        cache.put("a", 1L);
+
+        assertEquals(1L, cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void put_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.get("a");
+
+        cache.put("c", 3L);
+
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3L, cache.get("c"));
+    }
+
+    @Test
+    void get_WhenEntryExpired_ShouldReturnNull() {
+        cache.put("a", 1L);
+
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals(1L, cache.get("a"));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_WhenTtlIsZero_ShouldNeverExpire() {
+        LruCache<String, Long> unbounded = new LruCache<>(2, Duration.ZERO, clock::get);
+        unbounded.put("a", 1L);
+
+        clock.addAndGet(Duration.ofDays(365).toNanos());
+
+        assertEquals(1L, unbounded.get("a"));
+    }
+
+    @Test
+    void invalidate_ShouldRemoveEntries() {
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+
+        cache.invalidate("a");
+        cache.invalidateIf(value -> value == 2L);
+
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void putIfNotInvalidated_WhenInvalidatedSinceStamp_ShouldNotStore() {
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+
+        assertFalse(cache.putIfNotInvalidated("a", 1L, stamp));
+        assertNull(cache.get("a"));
+
+        assertTrue(cache.putIfNotInvalidated("a", 2L, cache.stamp()));
+        assertEquals(2L, cache.get("a"));
+    }
+
+    @Test
+    void constructor_WithInvalidSize_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, Long>(0));
+    }
+}
@@ -0,0 +1,147 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderBatchItemDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderBatchItemDto.Outcome;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderBatchResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.UserRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderBatchService;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderRevenueService;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.SnowflakeOrderNumberGenerator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderBatchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrderRevenueService orderRevenueService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderBatchService orderBatchService;
+
+    @BeforeEach
+    void setUp() {
+        orderBatchService = new OrderBatchService(userRepository, new SnowflakeOrderNumberGenerator(0),
+                orderRevenueService, jdbcTemplate, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createOrders_ShouldReportOutcomePerOrder() {
+        // Arrange
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        List<OrderDto> orders = Arrays.asList(
+                order(1L, "10.00"),
+                order(1L, "-1"),
+                order(7L, "3.00"),
+                null,
+                order(1L, "5.50"));
+
+        // Act
+        OrderBatchResultDto result = orderBatchService.createOrders(orders);
+
+        // Assert
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(Outcome.CREATED, Outcome.INVALID, Outcome.USER_NOT_FOUND, Outcome.INVALID,
+                Outcome.CREATED), outcomes(result));
+        assertNotNull(result.getItems().get(0).getOrderNumber());
+        assertNotEquals(result.getItems().get(0).getOrderNumber(), result.getItems().get(4).getOrderNumber());
+
+        ArgumentCaptor<Collection<Long>> userIds = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(1)).findExistingIds(userIds.capture());
+        assertEquals(2, userIds.getValue().size());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        verify(orderRevenueService).recordChange(any(), eq(Order.OrderStatus.PENDING), eq(2L),
+                eq(new BigDecimal("15.50")));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void createOrders_WhenBatchFails_ShouldRetryOneByOne() {
+        // Arrange
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("fk"));
+
+        // Act
+        OrderBatchResultDto result = orderBatchService.createOrders(List.of(order(1L, "10.00"), order(2L, "4.00")));
+
+        // Assert
+        assertEquals(List.of(Outcome.CREATED, Outcome.FAILED), outcomes(result));
+        assertNull(result.getItems().get(1).getOrderNumber());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(orderRevenueService).recordChange(any(), eq(Order.OrderStatus.PENDING), eq(1L),
+                eq(new BigDecimal("10.00")));
+    }
+
+    @Test
+    void createOrders_WhenNoOrderIsValid_ShouldNotTouchDatabase() {
+        // Act
+        OrderBatchResultDto result = orderBatchService.createOrders(List.of(order(null, "10.00")));
+
+        // Assert
+        assertEquals(List.of(Outcome.INVALID), outcomes(result));
+        verifyNoInteractions(userRepository, jdbcTemplate, orderRevenueService);
+    }
+
+    @Test
+    void createOrders_WithEmptyOrOversizedBatch_ShouldThrowException() {
+        // Arrange
+        List<OrderDto> oversized = Collections.nCopies(1001, order(1L, "1.00"));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> orderBatchService.createOrders(List.of()));
+        assertThrows(BadRequestException.class, () -> orderBatchService.createOrders(oversized));
+        verifyNoInteractions(userRepository, jdbcTemplate);
+    }
+
+    private static OrderDto order(Long userId, String amount) {
+        OrderDto dto = new OrderDto();
+        dto.setUserId(userId);
+        dto.setTotalAmount(new BigDecimal(amount));
+        dto.setShippingAddress("123 Test St");
+        return dto;
+    }
+
+    private static List<Outcome> outcomes(OrderBatchResultDto result) {
+        return result.getItems().stream().map(OrderBatchItemDto::getOutcome).toList();
+    }
+}
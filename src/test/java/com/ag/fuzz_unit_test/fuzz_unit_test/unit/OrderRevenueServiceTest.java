@@ -0,0 +1,171 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.PeriodRevenueDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderDailyRollupRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderRevenueService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderRevenueServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 31);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderDailyRollupRepository rollupRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private Savepoint savepoint;
+
+    @Test
+    void getMonthlyRevenue_ShouldFoldDailyRollupIntoMonths() {
+        // Arrange
+        OrderRevenueService service = service(true);
+        when(rollupRepository.sumByDay(eq(FROM), eq(TO), anyCollection())).thenReturn(List.of(
+                new PeriodRevenueDto(LocalDate.of(2024, 1, 5), 2, new BigDecimal("20.00")),
+                new PeriodRevenueDto(LocalDate.of(2024, 1, 20), 1, new BigDecimal("5.50")),
+                new PeriodRevenueDto(LocalDate.of(2024, 3, 1), 3, new BigDecimal("30.00"))));
+
+        // Act
+        List<PeriodRevenueDto> months = service.getMonthlyRevenue(FROM, TO, null);
+
+        // Assert
+        assertEquals(2, months.size());
+        assertEquals(LocalDate.of(2024, 1, 1), months.get(0).getPeriodStart());
+        assertEquals(3, months.get(0).getOrderCount());
+        assertEquals(new BigDecimal("25.50"), months.get(0).getRevenue());
+        assertEquals(LocalDate.of(2024, 3, 1), months.get(1).getPeriodStart());
+        verify(rollupRepository).sumByDay(FROM, TO, EnumSet.complementOf(EnumSet.of(Order.OrderStatus.CANCELLED)));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getDailyRevenue_WhenRollupIsDisabled_ShouldAggregateOrders() {
+        // Arrange
+        OrderRevenueService service = service(false);
+        when(orderRepository.sumByDay(any(), any(), anyCollection())).thenReturn(List.of());
+
+        // Act
+        service.getDailyRevenue(FROM, TO, Order.OrderStatus.SHIPPED);
+
+        // Assert
+        verify(orderRepository).sumByDay(FROM.atStartOfDay(), TO.plusDays(1).atStartOfDay(),
+                EnumSet.of(Order.OrderStatus.SHIPPED));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void getRevenueByStatus_WithReversedRange_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> service(true).getRevenueByStatus(TO, FROM));
+        verifyNoInteractions(rollupRepository, orderRepository);
+    }
+
+    @Test
+    void recordOrderChange_WhenRowIsMissing_ShouldInsertItUnderSavepoint() throws SQLException {
+        // Arrange
+        OrderRevenueService service = service(true);
+        when(rollupRepository.increment(any(), any(), anyLong(), any())).thenReturn(0);
+        runConnectionCallbacks();
+        when(statement.executeUpdate()).thenReturn(1);
+
+        // Act
+        service.recordOrderChange(order(), Order.OrderStatus.PENDING, 1);
+
+        // Assert
+        verify(statement).setObject(3, 1L);
+        verify(statement).setObject(4, new BigDecimal("12.50"));
+        verify(connection).releaseSavepoint(savepoint);
+        verify(connection, never()).rollback(any(Savepoint.class));
+    }
+
+    @Test
+    void recordOrderChange_WhenRowWasInsertedConcurrently_ShouldRollBackToSavepointAndIncrementIt()
+            throws SQLException {
+        // Arrange
+        OrderRevenueService service = service(true);
+        when(rollupRepository.increment(any(), any(), anyLong(), any())).thenReturn(0, 1);
+        runConnectionCallbacks();
+        when(statement.executeUpdate()).thenThrow(new SQLIntegrityConstraintViolationException("unique"));
+
+        // Act
+        service.recordOrderChange(order(), Order.OrderStatus.PENDING, -1);
+
+        // Assert
+        verify(connection).rollback(savepoint);
+        verify(rollupRepository, times(2)).increment(LocalDate.of(2024, 2, 10), Order.OrderStatus.PENDING,
+                -1L, new BigDecimal("-12.50"));
+    }
+
+    @Test
+    void recordOrderChange_WhenRollupIsDisabled_ShouldDoNothing() {
+        // Act
+        service(false).recordOrderChange(order(), Order.OrderStatus.PENDING, 1);
+
+        // Assert
+        verifyNoInteractions(rollupRepository, jdbcTemplate);
+    }
+
+    /**
+     * Run connection callbacks on the mocked connection, translating a constraint
+     * violation the way JdbcTemplate does
+     */
+    private void runConnectionCallbacks() throws SQLException {
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+            try {
+                return invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection);
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw new DuplicateKeyException("unique", e);
+            }
+        });
+    }
+
+    private OrderRevenueService service(boolean rollupEnabled) {
+        return new OrderRevenueService(orderRepository, rollupRepository, jdbcTemplate, rollupEnabled);
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setTotalAmount(new BigDecimal("12.50"));
+        order.setCreatedAt(LocalDateTime.of(2024, 2, 10, 15, 30));
+        return order;
+    }
+}
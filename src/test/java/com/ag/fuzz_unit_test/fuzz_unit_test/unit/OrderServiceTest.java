@@ -1,26 +1,43 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.CursorPageDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderStatusUpdateResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.OrderSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.Order;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.User;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BusinessException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.ResourceNotFoundException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.OrderRepository.StatusSnapshot;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.UserRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderRevenueService;
 import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderService;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.OrderNumberGenerator;
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.SnowflakeOrderNumberGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +49,12 @@ public class OrderServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OrderRevenueService orderRevenueService;
+
+    @Spy
+    private OrderNumberGenerator orderNumberGenerator = new SnowflakeOrderNumberGenerator(0);
+
     @InjectMocks
     private OrderService orderService;
 
@@ -63,20 +86,6 @@ public class OrderServiceTest {
         orderDto.setShippingAddress("123 Test St");
     }
 
-    @Test
-    void getAllOrders_ShouldReturnAllOrders() {
-        // Arrange
-        List<Order> orders = Arrays.asList(order, new Order());
-        when(orderRepository.findAll()).thenReturn(orders);
-        
-        // Act
-        List<Order> result = orderService.getAllOrders();
-        
-        // Assert
-        assertEquals(2, result.size());
-        verify(orderRepository).findAll();
-    }
-
     @Test
     void getOrderById_WithExistingId_ShouldReturnOrder() {
         // Arrange
@@ -105,29 +114,97 @@ public class OrderServiceTest {
     @Test
     void getOrdersByUser_WithExistingUserId_ShouldReturnUserOrders() {
         // Arrange
-        List<Order> userOrders = Arrays.asList(order);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(orderRepository.findByUser(user)).thenReturn(userOrders);
+        OrderSummaryDto summary = new OrderSummaryDto(1L, "ORD-12345678", BigDecimal.valueOf(100.0),
+                Order.OrderStatus.PENDING, order.getCreatedAt(), 1L);
+        when(orderRepository.findSummaryPage(isNull(), eq(1L), isNull(), isNull(), isNull(), eq(Long.MAX_VALUE), eq(21)))
+                .thenReturn(List.of(summary));
         
         // Act
-        List<Order> result = orderService.getOrdersByUser(1L);
+        CursorPageDto<OrderSummaryDto> result = orderService.getOrdersByUser(1L, null, 20);
         
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("ORD-12345678", result.get(0).getOrderNumber());
-        verify(userRepository).findById(1L);
-        verify(orderRepository).findByUser(user);
+        assertEquals(1, result.getItems().size());
+        assertEquals("ORD-12345678", result.getItems().get(0).getOrderNumber());
+        assertNull(result.getNextCursor());
+        verifyNoInteractions(userRepository);
     }
     
     @Test
     void getOrdersByUser_WithNonExistingUserId_ShouldThrowException() {
         // Arrange
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(orderRepository.findSummaryPage(isNull(), eq(99L), isNull(), isNull(), isNull(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+        when(userRepository.existsById(99L)).thenReturn(false);
         
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrdersByUser(99L));
-        verify(userRepository).findById(99L);
-        verify(orderRepository, never()).findByUser(any(User.class));
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrdersByUser(99L, null, 20));
+        verify(userRepository).existsById(99L);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getOrdersByUser_WithUserWithoutOrders_ShouldReturnEmptyPage() {
+        // Arrange
+        when(orderRepository.findSummaryPage(isNull(), eq(1L), isNull(), isNull(), isNull(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // Act
+        CursorPageDto<OrderSummaryDto> result = orderService.getOrdersByUser(1L, null, 20);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getOrderSummaryByNumber_ShouldCacheSummary() {
+        // Arrange
+        OrderSummaryDto summary = new OrderSummaryDto(1L, "ORD-12345678", BigDecimal.valueOf(100.0),
+                Order.OrderStatus.PENDING, order.getCreatedAt(), 1L);
+        when(orderRepository.findSummaryByOrderNumber("ORD-12345678")).thenReturn(Optional.of(summary));
+
+        // Act
+        OrderSummaryDto first = orderService.getOrderSummaryByNumber("ORD-12345678");
+        first.setStatus(Order.OrderStatus.CANCELLED);
+        OrderSummaryDto second = orderService.getOrderSummaryByNumber(" ORD-12345678 ");
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals(1L, second.getId());
+        assertEquals(Order.OrderStatus.PENDING, second.getStatus());
+        verify(orderRepository, times(1)).findSummaryByOrderNumber("ORD-12345678");
+    }
+
+    @Test
+    void getOrderSummaryByNumber_WithNonExistingNumber_ShouldThrowException() {
+        // Arrange
+        when(orderRepository.findSummaryByOrderNumber("ORD-MISSING")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderSummaryByNumber("ORD-MISSING"));
+    }
+
+    @Test
+    void getOrderSummaryByNumber_AfterStatusUpdate_ShouldReloadSummary() {
+        // Arrange
+        OrderSummaryDto pending = new OrderSummaryDto(1L, "ORD-12345678", BigDecimal.valueOf(100.0),
+                Order.OrderStatus.PENDING, order.getCreatedAt(), 1L);
+        OrderSummaryDto shipped = new OrderSummaryDto(1L, "ORD-12345678", BigDecimal.valueOf(100.0),
+                Order.OrderStatus.SHIPPED, order.getCreatedAt(), 1L);
+        when(orderRepository.findSummaryByOrderNumber("ORD-12345678"))
+                .thenReturn(Optional.of(pending), Optional.of(shipped));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        orderService.getOrderSummaryByNumber("ORD-12345678");
+
+        // Act
+        orderService.updateOrderStatus(1L, Order.OrderStatus.SHIPPED);
+        OrderSummaryDto result = orderService.getOrderSummaryByNumber("ORD-12345678");
+
+        // Assert
+        assertEquals(Order.OrderStatus.SHIPPED, result.getStatus());
+        verify(orderRepository, times(2)).findSummaryByOrderNumber("ORD-12345678");
     }
 
     @Test
@@ -147,6 +224,7 @@ public class OrderServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertTrue(result.getOrderNumber().startsWith("ORD-"));
+        verify(orderNumberGenerator).nextOrderNumber();
         assertEquals(BigDecimal.valueOf(100.0), result.getTotalAmount());
         assertEquals("123 Test St", result.getShippingAddress());
         assertEquals(user, result.getUser());
@@ -194,27 +272,260 @@ public class OrderServiceTest {
     }
 
     @Test
-    void deleteOrder_WithExistingId_ShouldDeleteOrder() {
+    void updateOrderStatus_ShouldMoveOrderBetweenRevenueRollups() {
+        // Arrange
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.save(order)).thenReturn(order);
+
+        // Act
+        orderService.updateOrderStatus(1L, Order.OrderStatus.CANCELLED);
+
+        // Assert
+        verify(orderRevenueService).recordOrderChange(order, Order.OrderStatus.PENDING, -1);
+        verify(orderRevenueService).recordOrderChange(order, Order.OrderStatus.CANCELLED, 1);
+    }
+
+    @Test
+    void updateOrderStatus_WithDisallowedTransition_ShouldThrowException() {
         // Arrange
+        order.setStatus(Order.OrderStatus.DELIVERED);
         when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        doNothing().when(orderRepository).delete(order);
+
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> orderService.updateOrderStatus(1L, Order.OrderStatus.PENDING));
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(orderRevenueService);
+    }
+
+    @Test
+    void orderStatus_ShouldDeclareAllowedTransitions() {
+        assertTrue(Order.OrderStatus.PENDING.canTransitionTo(Order.OrderStatus.SHIPPED));
+        assertFalse(Order.OrderStatus.SHIPPED.canTransitionTo(Order.OrderStatus.CANCELLED));
+        assertFalse(Order.OrderStatus.CANCELLED.canTransitionTo(Order.OrderStatus.PENDING));
+        assertEquals(EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED),
+                Order.OrderStatus.SHIPPED.predecessors());
+        assertTrue(Order.OrderStatus.PENDING.predecessors().isEmpty());
+    }
+
+    @Test
+    void updateOrderStatuses_ShouldUpdateAllowedOrdersAndReportTheRest() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 9, 0);
+        when(orderRepository.lockStatusesByIdIn(List.of(1L, 2L, 3L, 4L, 5L))).thenReturn(List.of(
+                snapshot(1L, Order.OrderStatus.PENDING, createdAt),
+                snapshot(2L, Order.OrderStatus.CONFIRMED, createdAt),
+                snapshot(3L, Order.OrderStatus.DELIVERED, createdAt),
+                snapshot(4L, Order.OrderStatus.SHIPPED, createdAt)));
+        when(orderRepository.updateStatus(anyCollection(), anyCollection(), eq(Order.OrderStatus.SHIPPED), any()))
+                .thenReturn(2);
+
+        // Act
+        OrderStatusUpdateResultDto result = orderService.updateOrderStatuses(List.of(1L, 2L, 3L, 4L, 5L, 1L),
+                Order.OrderStatus.SHIPPED);
+
+        // Assert
+        assertEquals(2, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(List.of(3L), result.getRejectedIds());
+        assertEquals(List.of(5L), result.getNotFoundIds());
+        verify(orderRepository).updateStatus(eq(List.of(1L, 2L)),
+                eq(EnumSet.of(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED)),
+                eq(Order.OrderStatus.SHIPPED), any(LocalDateTime.class));
+        InOrder rollup = inOrder(orderRevenueService);
+        rollup.verify(orderRevenueService).recordChange(createdAt.toLocalDate(), Order.OrderStatus.PENDING, -1,
+                BigDecimal.TEN.negate());
+        rollup.verify(orderRevenueService).recordChange(createdAt.toLocalDate(), Order.OrderStatus.CONFIRMED, -1,
+                BigDecimal.TEN.negate());
+        rollup.verify(orderRevenueService).recordChange(createdAt.toLocalDate(), Order.OrderStatus.SHIPPED, 2,
+                BigDecimal.valueOf(20));
+        verifyNoMoreInteractions(orderRevenueService);
+    }
+
+    @Test
+    void updateOrderStatuses_WhenNoOrderMayMove_ShouldNotUpdate() {
+        // Arrange
+        when(orderRepository.lockStatusesByIdIn(List.of(3L))).thenReturn(List.of(
+                snapshot(3L, Order.OrderStatus.CANCELLED, LocalDateTime.now())));
+
+        // Act
+        OrderStatusUpdateResultDto result = orderService.updateOrderStatuses(List.of(3L),
+                Order.OrderStatus.DELIVERED);
+
+        // Assert
+        assertEquals(0, result.getUpdated());
+        assertEquals(List.of(3L), result.getRejectedIds());
+        verify(orderRepository, never()).updateStatus(anyCollection(), anyCollection(), any(), any());
+        verifyNoInteractions(orderRevenueService);
+    }
+
+    @Test
+    void deleteOrder_WithExistingId_ShouldDeleteOrder() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(orderRepository.lockStatusesByIdIn(List.of(1L)))
+                .thenReturn(List.of(snapshot(1L, Order.OrderStatus.PENDING, createdAt, "100.00")));
+        when(orderRepository.deleteAllByIdIn(List.of(1L))).thenReturn(1);
         
         // Act
         orderService.deleteOrder(1L);
         
         // Assert
-        verify(orderRepository).findById(1L);
-        verify(orderRepository).delete(order);
+        verify(orderRepository).deleteAllByIdIn(List.of(1L));
+        verify(orderRepository, never()).findById(any());
+        verify(orderRevenueService).recordChange(createdAt.toLocalDate(), Order.OrderStatus.PENDING,
+                -1, new BigDecimal("-100.00"));
     }
     
     @Test
     void deleteOrder_WithNonExistingId_ShouldThrowException() {
         // Arrange
-        when(orderRepository.findById(99L)).thenReturn(Optional.empty());
+        when(orderRepository.lockStatusesByIdIn(List.of(99L))).thenReturn(List.of());
+        when(orderRepository.deleteAllByIdIn(List.of(99L))).thenReturn(0);
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> orderService.deleteOrder(99L));
-        verify(orderRepository).findById(99L);
-        verify(orderRepository, never()).delete(any(Order.class));
+        verifyNoInteractions(orderRevenueService);
+    }
+
+    @Test
+    void deleteOrder_ShouldEvictCachedSummaryByOrderNumber() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(orderRepository.findSummaryByOrderNumber("ORD-1"))
+                .thenReturn(Optional.of(summary(1L, createdAt)), Optional.empty());
+        when(orderRepository.lockStatusesByIdIn(List.of(1L)))
+                .thenReturn(List.of(snapshot(1L, Order.OrderStatus.PENDING, createdAt)));
+        when(orderRepository.deleteAllByIdIn(List.of(1L))).thenReturn(1);
+        orderService.getOrderSummaryByNumber("ORD-1");
+
+        // Act
+        orderService.deleteOrder(1L);
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderSummaryByNumber("ORD-1"));
+        verify(orderRepository, times(2)).findSummaryByOrderNumber("ORD-1");
+    }
+
+    @Test
+    void deleteOrdersByUser_ShouldDeleteInBulkAndUpdateRollupPerDayAndStatus() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(orderRepository.lockStatusesByUserId(1L)).thenReturn(List.of(
+                snapshot(1L, Order.OrderStatus.PENDING, createdAt, "10.00"),
+                snapshot(2L, Order.OrderStatus.PENDING, createdAt.plusHours(1), "15.00"),
+                snapshot(3L, Order.OrderStatus.SHIPPED, createdAt.plusDays(1), "20.00")));
+        when(orderRepository.deleteAllByIdIn(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        // Act
+        int deleted = orderService.deleteOrdersByUser(1L);
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(orderRevenueService).recordChange(createdAt.toLocalDate(), Order.OrderStatus.PENDING,
+                -2, new BigDecimal("-25.00"));
+        verify(orderRevenueService).recordChange(createdAt.toLocalDate().plusDays(1), Order.OrderStatus.SHIPPED,
+                -1, new BigDecimal("-20.00"));
+        verify(orderRepository, never()).findByUser(any());
+    }
+
+    @Test
+    void deleteOrdersByUser_WithoutOrders_ShouldNotDelete() {
+        // Arrange
+        when(orderRepository.lockStatusesByUserId(1L)).thenReturn(List.of());
+
+        // Act
+        int deleted = orderService.deleteOrdersByUser(1L);
+
+        // Assert
+        assertEquals(0, deleted);
+        verify(orderRepository, never()).deleteAllByIdIn(any());
+        verifyNoInteractions(orderRevenueService);
+    }
+
+    @Test
+    void searchOrders_WhenMoreOrdersMatch_ShouldReturnCursorToNextPage() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<OrderSummaryDto> rows = List.of(summary(3L, createdAt), summary(2L, createdAt), summary(1L, createdAt));
+        when(orderRepository.findSummaryPage(eq(Order.OrderStatus.PENDING), isNull(), isNull(), isNull(),
+                isNull(), eq(Long.MAX_VALUE), eq(3))).thenReturn(rows);
+        when(orderRepository.findSummaryPage(eq(Order.OrderStatus.PENDING), isNull(), isNull(), isNull(),
+                eq(createdAt), eq(2L), eq(3))).thenReturn(List.of(summary(1L, createdAt)));
+
+        // Act
+        CursorPageDto<OrderSummaryDto> first = orderService.searchOrders(Order.OrderStatus.PENDING, null,
+                null, null, null, 2);
+        CursorPageDto<OrderSummaryDto> second = orderService.searchOrders(Order.OrderStatus.PENDING, null,
+                null, null, first.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getItems().size());
+        assertEquals(1L, second.getItems().get(0).getId());
+        assertNull(second.getNextCursor());
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void searchOrders_WithNonExistingUserId_ShouldThrowException() {
+        // Arrange
+        when(orderRepository.findSummaryPage(isNull(), eq(99L), isNull(), isNull(), isNull(), anyLong(), anyInt()))
+                .thenReturn(List.of());
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.searchOrders(null, 99L, null, null, null, 20));
+    }
+
+    @Test
+    void searchOrders_WithEmptyDateRange_ShouldThrowException() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 5, 2, 0, 0);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> orderService.searchOrders(null, null, from, from.minusDays(1), null, 20));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static StatusSnapshot snapshot(Long id, Order.OrderStatus status, LocalDateTime createdAt) {
+        return snapshot(id, status, createdAt, "10");
+    }
+
+    private static StatusSnapshot snapshot(Long id, Order.OrderStatus status, LocalDateTime createdAt,
+                                           String totalAmount) {
+        return new StatusSnapshot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getOrderNumber() {
+                return "ORD-" + id;
+            }
+
+            @Override
+            public Order.OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return new BigDecimal(totalAmount);
+            }
+        };
+    }
+
+    private static OrderSummaryDto summary(Long id, LocalDateTime createdAt) {
+        return new OrderSummaryDto(id, "ORD-" + id, BigDecimal.TEN, Order.OrderStatus.PENDING, createdAt, 1L);
     }
-} 
+}
@@ -0,0 +1,167 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantImportResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantImportRowDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantImportRowDto.Outcome;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.ParticipantRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.ParticipantImportService;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.ParticipantService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ParticipantImportServiceTest {
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private ParticipantService participantService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParticipantImportService participantImportService;
+
+    @BeforeEach
+    void setUp() {
+        participantImportService = new ParticipantImportService(participantRepository, participantService,
+                jdbcTemplate, transactionManager, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importParticipants_ShouldReportOutcomePerRow() {
+        // Arrange
+        when(participantRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+        String json = "["
+                + row("Ann", "ann@example.com") + ","
+                + row("Bob", "taken@example.com") + ","
+                + row("Ann", " ann@example.com ") + ","
+                + row("", "not-an-email") + ","
+                + row("Cid", "cid@example.com")
+                + "]";
+
+        // Act
+        ParticipantImportResultDto result = participantImportService.importParticipants(stream(json));
+
+        // Assert
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertFalse(result.isAborted());
+        assertEquals(List.of(Outcome.CREATED, Outcome.ALREADY_EXISTS, Outcome.DUPLICATE_IN_BATCH,
+                Outcome.INVALID, Outcome.CREATED), outcomes(result));
+
+        ArgumentCaptor<Collection<String>> emails = ArgumentCaptor.forClass(Collection.class);
+        verify(participantRepository, times(1)).findExistingEmails(emails.capture());
+        assertEquals(List.of("ann@example.com", "taken@example.com", "cid@example.com"),
+                List.copyOf(emails.getValue()));
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        verify(participantService).invalidateEmailLookup("ann@example.com");
+        verify(participantService).invalidateEmailLookup("cid@example.com");
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void importParticipants_WhenBatchFails_ShouldRetryRowByRow() {
+        // Arrange
+        when(participantRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("unique"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DuplicateKeyException("unique"));
+        String json = "[" + row("Ann", "ann@example.com") + "," + row("Bob", "bob@example.com") + "]";
+
+        // Act
+        ParticipantImportResultDto result = participantImportService.importParticipants(stream(json));
+
+        // Assert
+        assertEquals(List.of(Outcome.CREATED, Outcome.ALREADY_EXISTS), outcomes(result));
+        verify(transactionManager).rollback(any());
+        verify(participantService).invalidateEmailLookup("ann@example.com");
+        verify(participantService, never()).invalidateEmailLookup("bob@example.com");
+    }
+
+    @Test
+    void importParticipants_WhenRowCannotBeBound_ShouldContinueWithNextRow() {
+        // Arrange
+        when(participantRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        String json = "["
+                + "{\"firstName\":\"Ann\",\"lastName\":\"Doe\",\"email\":\"ann@example.com\",\"status\":\"BOGUS\"},"
+                + row("Bob", "bob@example.com")
+                + "]";
+
+        // Act
+        ParticipantImportResultDto result = participantImportService.importParticipants(stream(json));
+
+        // Assert
+        assertEquals(List.of(Outcome.INVALID, Outcome.CREATED), outcomes(result));
+        assertEquals(2, result.getRows().get(1).getRow());
+        assertFalse(result.isAborted());
+    }
+
+    @Test
+    void importParticipants_WhenJsonIsTruncated_ShouldKeepEarlierRowsAndAbort() {
+        // Arrange
+        when(participantRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        String json = "[" + row("Ann", "ann@example.com") + ", {\"firstName\": \"Bo";
+
+        // Act
+        ParticipantImportResultDto result = participantImportService.importParticipants(stream(json));
+
+        // Assert
+        assertTrue(result.isAborted());
+        assertEquals(List.of(Outcome.CREATED, Outcome.INVALID), outcomes(result));
+        assertEquals(2, result.getRows().get(1).getRow());
+    }
+
+    @Test
+    void importParticipants_WhenBodyIsNotJson_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> participantImportService.importParticipants(stream("not json")));
+        verifyNoInteractions(participantRepository, jdbcTemplate);
+    }
+
+    private static String row(String firstName, String email) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Doe\",\"email\":\"" + email + "\"}";
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Outcome> outcomes(ParticipantImportResultDto result) {
+        return result.getRows().stream().map(ParticipantImportRowDto::getOutcome).toList();
+    }
+}
@@ -1,8 +1,13 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
 
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.CursorPageDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantDeactivationResultDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.ParticipantSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.*;
+import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BadRequestException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.BusinessException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.ResourceNotFoundException;
+import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingArchiveRepository;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.BookingRepository;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.CourseRepository;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.ParticipantRepository;
@@ -19,7 +24,9 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +41,9 @@ public class ParticipantServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
+
     @InjectMocks
     private ParticipantService participantService;
     
@@ -141,6 +151,41 @@ public class ParticipantServiceTest {
         assertEquals(updatedDetails.getStatus(), result.getStatus());
     }
     
+    @Test
+    void updateParticipant_WhenDeactivating_ShouldCancelUpcomingBookings() {
+        // Arrange
+        Participant updatedDetails = new Participant();
+        updatedDetails.setEmail(participant.getEmail());
+        updatedDetails.setStatus(ParticipantStatus.SUSPENDED);
+
+        when(participantRepository.findById(1L)).thenReturn(Optional.of(participant));
+        when(participantRepository.save(any(Participant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        participantService.updateParticipant(1L, updatedDetails);
+
+        // Assert
+        verify(bookingRepository).cancelOpenBookingsOnUpcomingCourses(
+                eq(List.of(1L)), eq(EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED)), any(LocalDate.class));
+    }
+
+    @Test
+    void updateParticipant_WhenStayingActive_ShouldNotTouchBookings() {
+        // Arrange
+        Participant updatedDetails = new Participant();
+        updatedDetails.setEmail(participant.getEmail());
+        updatedDetails.setStatus(ParticipantStatus.ACTIVE);
+
+        when(participantRepository.findById(1L)).thenReturn(Optional.of(participant));
+        when(participantRepository.save(any(Participant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        participantService.updateParticipant(1L, updatedDetails);
+
+        // Assert
+        verify(bookingRepository, never()).cancelOpenBookingsOnUpcomingCourses(any(), any(), any());
+    }
+
     @Test
     void updateParticipant_WithExistingEmail_ShouldThrowException() {
         // Arrange
@@ -344,7 +389,7 @@ public class ParticipantServiceTest {
         when(participantRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(participant));
         
         // Act
-        Participant result = participantService.getParticipantByEmail("john.doe@example.com");
+        ParticipantSummaryDto result = participantService.getParticipantByEmail("john.doe@example.com");
         
         // Assert
         assertEquals(participant.getId(), result.getId());
@@ -360,4 +405,227 @@ public class ParticipantServiceTest {
         assertThrows(ResourceNotFoundException.class, 
                 () -> participantService.getParticipantByEmail("nonexistent@example.com"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getParticipantByEmail_WhenCalledRepeatedly_ShouldQueryOnce() {
+        // Arrange
+        when(participantRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(participant));
+
+        // Act
+        participantService.getParticipantByEmail("john.doe@example.com").setStatus(ParticipantStatus.INACTIVE);
+        ParticipantSummaryDto result = participantService.getParticipantByEmail("john.doe@example.com");
+
+        // Assert
+        assertEquals(participant.getId(), result.getId());
+        assertEquals(participant.getStatus(), result.getStatus());
+        verify(participantRepository, times(1)).findByEmail("john.doe@example.com");
+        verifyNoMoreInteractions(participantRepository);
+    }
+
+    @Test
+    void deactivateParticipants_ShouldDropCachedSummaries() {
+        // Arrange
+        when(participantRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(participant));
+        participantService.getParticipantByEmail("john.doe@example.com");
+        when(participantRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+        when(participantRepository.updateStatus(anyCollection(), eq(ParticipantStatus.INACTIVE), any()))
+                .thenReturn(1);
+
+        // Act
+        participantService.deactivateParticipants(List.of(1L), ParticipantStatus.INACTIVE);
+        participantService.getParticipantByEmail("john.doe@example.com");
+
+        // Assert
+        verify(participantRepository, times(2)).findByEmail("john.doe@example.com");
+    }
+
+    @Test
+    void getParticipantByEmail_AfterCreate_ShouldNotServeCachedMiss() {
+        // Arrange
+        when(participantRepository.findByEmail(participant.getEmail())).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class,
+                () -> participantService.getParticipantByEmail(participant.getEmail()));
+        when(participantRepository.save(any(Participant.class))).thenReturn(participant);
+
+        // Act
+        participantService.createParticipant(participant);
+        when(participantRepository.findByEmail(participant.getEmail())).thenReturn(Optional.of(participant));
+        ParticipantSummaryDto result = participantService.getParticipantByEmail(participant.getEmail());
+
+        // Assert
+        assertEquals(participant.getId(), result.getId());
+    }
+
+    @Test
+    void getBookingHistory_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        // Arrange
+        Booking older = new Booking();
+        older.setId(2L);
+        older.setBookingDate(LocalDate.of(2024, 1, 10));
+        older.setStatus(BookingStatus.COMPLETED);
+        Booking oldest = new Booking();
+        oldest.setId(1L);
+        oldest.setBookingDate(LocalDate.of(2024, 1, 5));
+        oldest.setStatus(BookingStatus.COMPLETED);
+        when(bookingRepository.findHistoryPageByStatus(eq(1L), eq(BookingStatus.COMPLETED), any(LocalDate.class),
+                eq(Long.MAX_VALUE), any())).thenReturn(List.of(older, oldest));
+        when(bookingRepository.findHistoryPageByStatus(eq(1L), eq(BookingStatus.COMPLETED),
+                eq(LocalDate.of(2024, 1, 10)), eq(2L), any())).thenReturn(List.of(oldest));
+
+        // Act
+        CursorPageDto<Booking> firstPage = participantService.getBookingHistory(1L, BookingStatus.COMPLETED, null, 1, false);
+        CursorPageDto<Booking> secondPage = participantService.getBookingHistory(
+                1L, BookingStatus.COMPLETED, firstPage.getNextCursor(), 1, false);
+
+        // Assert
+        assertEquals(List.of(older), firstPage.getItems());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(oldest), secondPage.getItems());
+        assertNull(secondPage.getNextCursor());
+        verify(participantRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void getBookingHistory_WithArchive_ShouldMergeNewestFirst() {
+        // Arrange
+        Booking live = new Booking();
+        live.setId(5L);
+        live.setBookingDate(LocalDate.of(2024, 1, 10));
+        live.setStatus(BookingStatus.CONFIRMED);
+        BookingArchive sameDay = archived(3L, LocalDate.of(2024, 1, 10));
+        BookingArchive newest = archived(4L, LocalDate.of(2024, 2, 1));
+        BookingArchive oldest = archived(1L, LocalDate.of(2023, 5, 1));
+        when(bookingRepository.findHistoryPage(eq(1L), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of(live));
+        when(bookingArchiveRepository.findHistoryPage(eq(1L), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of(newest, sameDay, oldest));
+
+        // Act
+        CursorPageDto<Booking> page = participantService.getBookingHistory(1L, null, null, 3, true);
+
+        // Assert
+        assertEquals(List.of(4L, 5L, 3L), page.getItems().stream().map(Booking::getId).toList());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void getBookingHistory_WhenParticipantDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(bookingRepository.findHistoryPage(eq(99L), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of());
+        when(participantRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> participantService.getBookingHistory(99L, null, null, 20, false));
+    }
+
+    @Test
+    void getBookingHistory_WithMalformedCursor_ShouldThrowException() {
+        assertThrows(BadRequestException.class,
+                () -> participantService.getBookingHistory(1L, null, "not a cursor", 20, false));
+    }
+
+    @Test
+    void getBookingCounts_ShouldFillMissingStatusesWithZero() {
+        // Arrange
+        BookingRepository.StatusCount pending = mock(BookingRepository.StatusCount.class);
+        when(pending.getParticipantId()).thenReturn(1L);
+        when(pending.getStatus()).thenReturn(BookingStatus.PENDING);
+        when(pending.getCount()).thenReturn(3L);
+        when(bookingRepository.countByParticipantIdsGroupedByStatus(List.of(1L))).thenReturn(List.of(pending));
+
+        // Act
+        Map<Long, Map<BookingStatus, Long>> counts = participantService.getBookingCounts(List.of(1L));
+
+        // Assert
+        assertEquals(3L, counts.get(1L).get(BookingStatus.PENDING));
+        assertEquals(0L, counts.get(1L).get(BookingStatus.COMPLETED));
+        assertEquals(BookingStatus.values().length, counts.get(1L).size());
+    }
+
+    @Test
+    void getBookingCounts_ShouldAddArchivedBookings() {
+        // Arrange
+        BookingRepository.StatusCount live = mock(BookingRepository.StatusCount.class);
+        when(live.getParticipantId()).thenReturn(1L);
+        when(live.getStatus()).thenReturn(BookingStatus.COMPLETED);
+        when(live.getCount()).thenReturn(2L);
+        BookingRepository.StatusCount archived = mock(BookingRepository.StatusCount.class);
+        when(archived.getParticipantId()).thenReturn(1L);
+        when(archived.getStatus()).thenReturn(BookingStatus.COMPLETED);
+        when(archived.getCount()).thenReturn(5L);
+        when(bookingRepository.countByParticipantIdsGroupedByStatus(List.of(1L))).thenReturn(List.of(live));
+        when(bookingArchiveRepository.countByParticipantIdsGroupedByStatus(List.of(1L))).thenReturn(List.of(archived));
+
+        // Act
+        Map<Long, Map<BookingStatus, Long>> counts = participantService.getBookingCounts(List.of(1L));
+
+        // Assert
+        assertEquals(7L, counts.get(1L).get(BookingStatus.COMPLETED));
+    }
+
+    @Test
+    void getCourseRoster_WithArchive_ShouldIncludeArchivedBookings() {
+        // Arrange
+        booking.setBookingDate(LocalDate.of(2024, 1, 10));
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findRoster(1L)).thenReturn(List.of(booking));
+        when(bookingArchiveRepository.findRoster(1L)).thenReturn(List.of(archived(7L, LocalDate.of(2023, 12, 1))));
+
+        // Act
+        List<Booking> roster = participantService.getCourseRoster(1L, true);
+
+        // Assert
+        assertEquals(List.of(7L, 1L), roster.stream().map(Booking::getId).toList());
+        verify(bookingArchiveRepository, never()).findHistoryPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void getCourseRoster_WhenCourseDoesNotExist_ShouldThrowException() {
+        // Arrange
+        when(courseRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> participantService.getCourseRoster(99L, false));
+        verify(bookingRepository, never()).findRoster(anyLong());
+    }
+
+    private BookingArchive archived(Long id, LocalDate bookingDate) {
+        BookingArchive archived = new BookingArchive();
+        archived.setId(id);
+        archived.setBookingDate(bookingDate);
+        archived.setStatus(BookingStatus.COMPLETED);
+        archived.setParticipant(participant);
+        archived.setCourse(course);
+        return archived;
+    }
+
+    @Test
+    void deactivateParticipants_ShouldUpdateStatusAndCancelBookingsInBulk() {
+        // Arrange
+        when(participantRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+        when(participantRepository.updateStatus(eq(Set.of(1L, 3L)), eq(ParticipantStatus.INACTIVE), any()))
+                .thenReturn(2);
+        when(bookingRepository.cancelOpenBookingsOnUpcomingCourses(eq(Set.of(1L, 3L)), any(), any(LocalDate.class)))
+                .thenReturn(4);
+
+        // Act
+        ParticipantDeactivationResultDto result = participantService.deactivateParticipants(
+                List.of(1L, 2L, 3L, 1L), ParticipantStatus.INACTIVE);
+
+        // Assert
+        assertEquals(2, result.getParticipantsUpdated());
+        assertEquals(4, result.getBookingsCancelled());
+        assertEquals(List.of(2L), result.getNotFoundIds());
+        verify(participantRepository, never()).findById(anyLong());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void deactivateParticipants_WithActiveStatus_ShouldThrowException() {
+        assertThrows(BadRequestException.class,
+                () -> participantService.deactivateParticipants(List.of(1L), ParticipantStatus.ACTIVE));
+        verifyNoInteractions(participantRepository, bookingRepository);
+    }
+}
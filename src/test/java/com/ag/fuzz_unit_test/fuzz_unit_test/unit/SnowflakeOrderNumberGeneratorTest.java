@@ -0,0 +1,155 @@
+package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
+
+import com.ag.fuzz_unit_test.fuzz_unit_test.util.SnowflakeOrderNumberGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnowflakeOrderNumberGeneratorTest {
+
+    private static final long NOW = 1_750_000_000_000L;
+
+    @Test
+    void nextOrderNumber_ShouldBeFixedWidthAndSortInGenerationOrder() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(7, clock::get);
+
+        // Act
+        String first = generator.nextOrderNumber();
+        String second = generator.nextOrderNumber();
+        clock.addAndGet(1);
+        String third = generator.nextOrderNumber();
+
+        // Assert
+        assertTrue(first.matches("ORD-[0-9A-HJKMNP-TV-Z]{13}"), first);
+        assertEquals(first.length(), third.length());
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(third) < 0);
+    }
+
+    @Test
+    void nextId_WhenClockMovesBackwards_ShouldKeepIncreasing() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, clock::get);
+        long before = generator.nextId();
+
+        // Act
+        clock.addAndGet(-5_000);
+        long after = generator.nextId();
+
+        // Assert
+        assertTrue(after > before);
+    }
+
+    @Test
+    void nextId_WhenSequenceIsExhausted_ShouldNotRepeatWithinMillisecond() {
+        // Arrange
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, () -> NOW);
+        long[] ids = new long[10_000];
+
+        // Act
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generator.nextId();
+        }
+
+        // Assert
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+    }
+
+    @Test
+    void nextOrderNumbers_ShouldReserveBlockAfterPreviousNumbers() {
+        // Arrange
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, () -> NOW);
+        String before = generator.nextOrderNumber();
+
+        // Act
+        List<String> block = generator.nextOrderNumbers(5_000);
+        String after = generator.nextOrderNumber();
+
+        // Assert
+        assertEquals(5_000, block.size());
+        assertTrue(before.compareTo(block.get(0)) < 0);
+        for (int i = 1; i < block.size(); i++) {
+            assertTrue(block.get(i - 1).compareTo(block.get(i)) < 0);
+        }
+        assertTrue(block.get(block.size() - 1).compareTo(after) < 0);
+    }
+
+    @Test
+    void nextId_ShouldNotCollideAcrossNodes() {
+        // Arrange
+        SnowflakeOrderNumberGenerator first = new SnowflakeOrderNumberGenerator(1, () -> NOW);
+        SnowflakeOrderNumberGenerator second = new SnowflakeOrderNumberGenerator(2, () -> NOW);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertNotEquals(first.nextId(), second.nextId());
+        }
+    }
+
+    @Test
+    void nextId_FromManyThreads_ShouldNeverRepeat() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 250_000;
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(3);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[perThread];
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            long[] all = new long[threads * perThread];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get();
+                // Ids seen by one thread are strictly increasing
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(ids[i] > ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+
+            // Assert
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertNotEquals(all[i - 1], all[i], "Duplicate order id");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_WithNodeIdOutOfRange_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeOrderNumberGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeOrderNumberGenerator(SnowflakeOrderNumberGenerator.MAX_NODE_ID + 1));
+    }
+}
@@ -1,18 +1,26 @@
 package com.ag.fuzz_unit_test.fuzz_unit_test.unit;
 
 import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserDto;
+import com.ag.fuzz_unit_test.fuzz_unit_test.dto.UserSummaryDto;
 import com.ag.fuzz_unit_test.fuzz_unit_test.entity.User;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.DuplicateResourceException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.exception.ResourceNotFoundException;
 import com.ag.fuzz_unit_test.fuzz_unit_test.repository.UserRepository;
+import com.ag.fuzz_unit_test.fuzz_unit_test.service.OrderService;
 import com.ag.fuzz_unit_test.fuzz_unit_test.service.UserService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +36,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OrderService orderService;
+
     @InjectMocks
     private UserService userService;
 
@@ -81,9 +92,7 @@ public class UserServiceTest {
 
     @Test
     void createUser_WhenUsernameAndEmailAreUnique_ShouldCreateUser() {
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
             User savedUser = invocation.getArgument(0);
             savedUser.setId(3L);
             return savedUser;
@@ -95,29 +104,48 @@ public class UserServiceTest {
         assertEquals(3L, result.getId());
         assertEquals(userDto.getUsername(), result.getUsername());
         assertEquals(userDto.getEmail(), result.getEmail());
-        verify(userRepository, times(1)).existsByUsername(userDto.getUsername());
-        verify(userRepository, times(1)).existsByEmail(userDto.getEmail());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
     }
 
     @Test
     void createUser_WhenUsernameExists_ShouldThrowException() {
-        when(userRepository.existsByUsername(userDto.getUsername())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("PUBLIC.UK_USERS_USERNAME_INDEX_4"));
 
-        assertThrows(DuplicateResourceException.class, () -> userService.createUser(userDto));
-        verify(userRepository, times(1)).existsByUsername(userDto.getUsername());
-        verify(userRepository, never()).save(any(User.class));
+        DuplicateResourceException exception =
+                assertThrows(DuplicateResourceException.class, () -> userService.createUser(userDto));
+        assertTrue(exception.getMessage().contains("username"));
     }
 
     @Test
     void createUser_WhenEmailExists_ShouldThrowException() {
-        when(userRepository.existsByUsername(userDto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(userDto.getEmail())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_email"));
+
+        DuplicateResourceException exception =
+                assertThrows(DuplicateResourceException.class, () -> userService.createUser(userDto));
+        assertTrue(exception.getMessage().contains("email"));
+        assertTrue(exception.getMessage().contains(userDto.getEmail()));
+    }
 
-        assertThrows(DuplicateResourceException.class, () -> userService.createUser(userDto));
-        verify(userRepository, times(1)).existsByUsername(userDto.getUsername());
-        verify(userRepository, times(1)).existsByEmail(userDto.getEmail());
-        verify(userRepository, never()).save(any(User.class));
+    @Test
+    void createUser_WhenOtherConstraintIsViolated_ShouldRethrow() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("fk_something_else"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(userDto));
+    }
+
+    @Test
+    void updateUser_WhenEmailTakenByAnotherUser_ShouldThrowException() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        when(userRepository.saveAndFlush(user1)).thenThrow(uniqueViolation("uk_users_email"));
+
+        UserDto update = new UserDto("user1", "user2@example.com", "password123");
+
+        DuplicateResourceException exception =
+                assertThrows(DuplicateResourceException.class, () -> userService.updateUser(1L, update));
+        assertTrue(exception.getMessage().contains("user2@example.com"));
+        verify(userRepository, never()).existsByEmail(anyString());
     }
 
     @Test
@@ -136,4 +164,127 @@ public class UserServiceTest {
         assertThrows(IllegalArgumentException.class,
                      () -> userService.validateEmail("@example.com"));
     }
+
+    @Test
+    void getUserByEmail_WhenCalledRepeatedly_ShouldQueryOnce() {
+        when(userRepository.findByEmail("user1@example.com")).thenReturn(Optional.of(user1));
+
+        UserSummaryDto first = userService.getUserByEmail("user1@example.com");
+        UserSummaryDto second = userService.getUserByEmail(" user1@example.com ");
+
+        assertEquals(1L, first.getId());
+        assertEquals("user1", second.getUsername());
+        assertEquals("user1@example.com", second.getEmail());
+        verify(userRepository, times(1)).findByEmail("user1@example.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void getUserByEmail_WhenMissing_ShouldCacheMiss() {
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("missing@example.com"));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("missing@example.com"));
+
+        verify(userRepository, times(1)).findByEmail("missing@example.com");
+    }
+
+    @Test
+    void createUser_ShouldInvalidateCachedMiss() {
+        when(userRepository.findByEmail(userDto.getEmail())).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail(userDto.getEmail()));
+
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User savedUser = invocation.getArgument(0);
+            savedUser.setId(3L);
+            return savedUser;
+        });
+        User created = userService.createUser(userDto);
+        when(userRepository.findByEmail(userDto.getEmail())).thenReturn(Optional.of(created));
+
+        assertEquals(created.getId(), userService.getUserByEmail(userDto.getEmail()).getId());
+        verify(userRepository, times(2)).findByEmail(userDto.getEmail());
+    }
+
+    @Test
+    void getUserByUsername_WhenCallerChangesResult_ShouldNotChangeCachedSummary() {
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
+
+        userService.getUserByUsername("user1").setEmail("changed@example.com");
+        UserSummaryDto result = userService.getUserByUsername("user1");
+
+        assertEquals("user1@example.com", result.getEmail());
+        verify(userRepository, times(1)).findByUsername("user1");
+    }
+
+    @Test
+    void deleteUser_ShouldDeleteOrdersThenUserInBulk() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        when(userRepository.deleteAllByIdIn(List.of(1L))).thenReturn(1);
+
+        userService.deleteUser(1L);
+
+        InOrder inOrder = inOrder(orderService, userRepository);
+        inOrder.verify(orderService).deleteOrdersByUser(1L);
+        inOrder.verify(userRepository).deleteAllByIdIn(List.of(1L));
+        verify(userRepository, never()).delete(any(User.class));
+    }
+
+    @Test
+    void deleteUser_WithNonExistingId_ShouldThrowException() {
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(99L));
+        verifyNoInteractions(orderService);
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation",
+                        new SQLException("duplicate"), constraintName));
+    }
+
+    @Test
+    void updateUser_ShouldInvalidateLookupsOnlyAfterCommit() {
+        when(userRepository.findByEmail("user1@example.com")).thenReturn(Optional.of(user1));
+        // Each read sees the committed row, not the one being updated
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            User committed = new User("user1", "user1@example.com", "password123");
+            committed.setId(1L);
+            return Optional.of(committed);
+        });
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        userService.getUserByEmail("user1@example.com");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.updateUser(1L, userDto);
+            assertEquals(1L, userService.getUserByEmail("user1@example.com").getId());
+            verify(userRepository, times(1)).findByEmail("user1@example.com");
+
+            when(userRepository.findByEmail("user1@example.com")).thenReturn(Optional.empty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("user1@example.com"));
+        verify(userRepository, times(2)).findByEmail("user1@example.com");
+    }
+
+    @Test
+    void getUserByEmail_WhenInvalidatedDuringQuery_ShouldNotCacheResult() {
+        when(userRepository.findByEmail("user1@example.com")).thenAnswer(invocation -> {
+            // A concurrent update commits while the query is running
+            when(userRepository.saveAndFlush(any(User.class))).thenReturn(user1);
+            when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+            userService.updateUser(1L, new UserDto("user1", "user1@example.com", "password123"));
+            return Optional.of(user1);
+        }).thenReturn(Optional.of(user1));
+
+        userService.getUserByEmail("user1@example.com");
+        userService.getUserByEmail("user1@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user1@example.com");
+    }
 }